@@ -0,0 +1,49 @@
+package com.backend.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Copia de Booking con ids IDENTITY, como antes de las secuencias (solo para InsertBenchmark).
+ */
+@Entity
+@Table(name = "identity_bookings")
+@Data
+@NoArgsConstructor
+public class IdentityBooking {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate checkInDate;
+
+    @Column(nullable = false)
+    private LocalDate checkOutDate;
+
+    @Column(nullable = false)
+    private String guestFullName;
+
+    @Column(nullable = false)
+    private String guestEmail;
+
+    @Column(nullable = false)
+    private Integer numOfAdults;
+
+    @Column(nullable = false)
+    private Integer numOfChildren;
+
+    @Column(nullable = false)
+    private Integer totalNumOfGuests;
+
+    @Column(nullable = false, unique = true)
+    private String bookingConfirmationCode;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id")
+    private Room room;
+}
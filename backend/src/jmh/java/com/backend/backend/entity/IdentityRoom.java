@@ -0,0 +1,34 @@
+package com.backend.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Copia de Room con ids IDENTITY, como antes de las secuencias (solo para InsertBenchmark).
+ * Vive en src/jmh: la tabla solo existe cuando Hibernate genera el esquema con el perfil benchmark.
+ */
+@Entity
+@Table(name = "identity_rooms")
+@Data
+@NoArgsConstructor
+public class IdentityRoom {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String roomType;
+
+    @Column(nullable = false)
+    private BigDecimal roomPrice;
+
+    @Column(length = 64)
+    private String roomPhotoHash;
+
+    @Column(nullable = false)
+    private String roomDescription;
+}
@@ -0,0 +1,54 @@
+package com.backend.backend.response;
+
+import com.backend.backend.dto.RoomSummaryDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de ApiResponse con el catálogo de habitaciones, que es lo que
+ * RoomCatalogCache evita repetir en cada request a /api/rooms/all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "200"})
+    public int rooms;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private ApiResponse<List<RoomSummaryDto>> response;
+
+    @Setup
+    public void setUp() {
+        List<RoomSummaryDto> catalog = new ArrayList<>(rooms);
+        for (long id = 1; id <= rooms; id++) {
+            catalog.add(new RoomSummaryDto(id, id % 2 == 0 ? "Suite" : "Standard", new BigDecimal("120.00"),
+                    "Habitación " + id + " con vista al río", "%064x".formatted(id)));
+        }
+        response = ApiResponse.success("All rooms retrieved", catalog);
+    }
+
+    @Benchmark
+    public byte[] serializeCatalog() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,149 @@
+package com.backend.backend.service;
+
+import com.backend.backend.BackendApplication;
+import com.backend.backend.availability.AvailabilityEngine;
+import com.backend.backend.dto.RoomDto;
+import com.backend.backend.dto.RoomSummaryDto;
+import com.backend.backend.entity.Booking;
+import com.backend.backend.entity.Room;
+import com.backend.backend.entity.RoomType;
+import com.backend.backend.repository.BookingRepository;
+import com.backend.backend.repository.RoomRepository;
+import com.backend.backend.repository.RoomTypeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de disponibilidad con la aplicación completa sobre H2 en memoria (la misma
+ * configuración que los tests): el camino actual (índice en memoria + proyección o
+ * entidades) contra la consulta JPQL anterior.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityQueryBenchmark {
+
+    private static final int ROOMS = 500;
+    private static final int BOOKINGS_PER_ROOM = 10;
+    private static final String[] ROOM_TYPES = {"Standard", "Suite", "Family", "Deluxe"};
+
+    private ConfigurableApplicationContext context;
+    private RoomService roomService;
+    private RoomRepository roomRepository;
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(60);
+    private final LocalDate checkOut = checkIn.plusDays(4);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        // Puerto libre cualquiera: el contexto web completo, igual que en producción
+        application.setDefaultProperties(Map.of("server.port", "0"));
+        context = application.run();
+
+        roomService = context.getBean(RoomService.class);
+        roomRepository = context.getBean(RoomRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        AvailabilityEngine engine = context.getBean(AvailabilityEngine.class);
+
+        // La consulta JPQL anterior hace join con r.type: cada habitación necesita su RoomType
+        RoomTypeRepository roomTypeRepository = context.getBean(RoomTypeRepository.class);
+        List<RoomType> types = new ArrayList<>(ROOM_TYPES.length);
+        for (String name : ROOM_TYPES) {
+            types.add(roomTypeRepository.save(new RoomType(null, name)));
+        }
+
+        List<Room> rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            RoomType type = types.get(i % types.size());
+            room.setType(type);
+            room.setRoomType(type.getName());
+            room.setRoomPrice(new BigDecimal("100.00"));
+            room.setRoomDescription("Benchmark room " + i);
+            room.setRoomPhotoHash("%064x".formatted(i));
+            rooms.add(room);
+        }
+        rooms = roomRepository.saveAll(rooms);
+
+        // Estadías de 1 a 5 noches repartidas en los próximos 180 días, sin solaparse dentro de cada habitación
+        Random random = new Random(42);
+        List<Booking> bookings = new ArrayList<>(ROOMS * BOOKINGS_PER_ROOM);
+        for (Room room : rooms) {
+            LocalDate next = LocalDate.now().plusDays(1);
+            for (int i = 0; i < BOOKINGS_PER_ROOM; i++) {
+                LocalDate in = next.plusDays(random.nextInt(15));
+                LocalDate out = in.plusDays(1 + random.nextInt(5));
+                Booking booking = new Booking();
+                booking.setCheckInDate(in);
+                booking.setCheckOutDate(out);
+                booking.setGuestFullName("Benchmark Guest");
+                booking.setGuestEmail("guest@delrio.test");
+                booking.setNumOfAdults(2);
+                booking.setNumOfChildren(0);
+                booking.calculateTotalNumberOfGuests();
+                booking.setBookingConfirmationCode(UUID.randomUUID().toString());
+                booking.setRoom(room);
+                bookings.add(booking);
+                next = out;
+            }
+        }
+        bookings = bookingRepository.saveAll(bookings);
+
+        // El motor se cargó al arrancar (con la base vacía): se le informan los datos sembrados
+        rooms.forEach(room -> engine.roomSaved(room.getId(), room.getRoomType()));
+        bookings.forEach(b -> engine.bookingSaved(b.getId(), b.getRoom().getId(), b.getCheckInDate(), b.getCheckOutDate()));
+        checkLegacyQueryFindsRooms();
+    }
+
+    // Si la consulta anterior no encontrara nada compararíamos contra una consulta vacía
+    private void checkLegacyQueryFindsRooms() {
+        if (legacyJpqlQuery().isEmpty()) {
+            throw new IllegalStateException("Legacy availability query returned no rooms");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RoomSummaryDto> engineWithSummaryProjection() {
+        return roomService.getAvailableRoomSummaries(checkIn, checkOut, "Suite");
+    }
+
+    @Benchmark
+    public List<RoomDto> engineWithRoomDtos() {
+        return roomService.getAvailableRooms(checkIn, checkOut, "Suite");
+    }
+
+    @Benchmark
+    public List<Room> legacyJpqlQuery() {
+        return roomRepository.findAvailableRoomsByDatesAndType(checkIn, checkOut, "Suite");
+    }
+}
@@ -0,0 +1,79 @@
+package com.backend.backend.service;
+
+import com.backend.backend.dto.BookingDto;
+import com.backend.backend.dto.RoomDto;
+import com.backend.backend.entity.Booking;
+import com.backend.backend.entity.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entidad -> DTO de habitaciones y reservas. La foto ya no viaja en la
+ * entidad: el caso realista es una habitación con hash de foto (la URL se arma con él).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertToDtoBenchmark {
+
+    private final RoomService roomService = new RoomService();
+    private final BookingService bookingService = new BookingService();
+
+    private Room room;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        byte[] hash = new byte[32];
+        ThreadLocalRandom.current().nextBytes(hash);
+
+        room = new Room();
+        room.setId(42L);
+        room.setRoomType("Suite Deluxe");
+        room.setRoomPrice(new BigDecimal("249.90"));
+        room.setRoomDescription("Suite con vista al río, cama king y balcón privado");
+        room.setRoomPhotoHash(HexFormat.of().formatHex(hash));
+        room.setRoomPhotoContentType("image/jpeg");
+        room.setRoomPhotoSize(850_000L);
+
+        booking = new Booking();
+        booking.setId(1000L);
+        booking.setCheckInDate(LocalDate.of(2026, 1, 10));
+        booking.setCheckOutDate(LocalDate.of(2026, 1, 14));
+        booking.setGuestFullName("María Fernández");
+        booking.setGuestEmail("maria@example.com");
+        booking.setNumOfAdults(2);
+        booking.setNumOfChildren(1);
+        booking.calculateTotalNumberOfGuests();
+        booking.setBookingConfirmationCode(UUID.randomUUID().toString());
+        booking.setRoom(room);
+    }
+
+    @Benchmark
+    public RoomDto roomToDto() {
+        return roomService.convertToDto(room);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return bookingService.convertToDto(booking);
+    }
+}
@@ -0,0 +1,168 @@
+package com.backend.backend.service;
+
+import com.backend.backend.BackendApplication;
+import com.backend.backend.entity.Booking;
+import com.backend.backend.entity.IdentityBooking;
+import com.backend.backend.entity.IdentityRoom;
+import com.backend.backend.entity.Room;
+import com.backend.backend.repository.BookingRepository;
+import com.backend.backend.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alta masiva de habitaciones y reservas en una transacción: ids de secuencia con bloques de 50
+ * y saveAll en batch (lo actual) contra ids IDENTITY, que obligan a un INSERT por fila para leer
+ * el id generado (lo anterior, con las copias IdentityRoom e IdentityBooking).
+ * Por defecto corre sobre H2 en memoria (la configuración de los tests, que genera el esquema con
+ * Hibernate). Para medir contra una base PostgreSQL descartable, pasar spring.datasource.url,
+ * username, password y driver-class-name con -jvmArgs en jmh.args.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    private ConfigurableApplicationContext context;
+    private RoomRepository roomRepository;
+    private BookingRepository bookingRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    private Room bookedRoom;
+    private final LocalDate checkIn = LocalDate.now().plusDays(30);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setDefaultProperties(Map.of("server.port", "0"));
+        context = application.run();
+
+        roomRepository = context.getBean(RoomRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        // Todas las reservas apuntan a la misma habitación: se mide el INSERT, no la disponibilidad
+        bookedRoom = roomRepository.save(newRoom(0));
+    }
+
+    // Vacía las tablas entre iteraciones para que todas midan sobre el mismo volumen
+    @TearDown(Level.Iteration)
+    public void clearTables() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Booking").executeUpdate();
+            entityManager.createQuery("delete from IdentityBooking").executeUpdate();
+            entityManager.createQuery("delete from Room r where r.id <> :id")
+                    .setParameter("id", bookedRoom.getId())
+                    .executeUpdate();
+            entityManager.createQuery("delete from IdentityRoom").executeUpdate();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Room> roomsWithSequenceBatch() {
+        List<Room> rooms = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rooms.add(newRoom(i));
+        }
+        return transactionTemplate.execute(status -> roomRepository.saveAll(rooms));
+    }
+
+    @Benchmark
+    public List<IdentityRoom> roomsWithIdentity() {
+        List<IdentityRoom> rooms = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            IdentityRoom room = new IdentityRoom();
+            room.setRoomType("Standard");
+            room.setRoomPrice(new BigDecimal("100.00"));
+            room.setRoomDescription("Benchmark room " + i);
+            room.setRoomPhotoHash("%064x".formatted(i));
+            rooms.add(room);
+        }
+        transactionTemplate.executeWithoutResult(status -> rooms.forEach(entityManager::persist));
+        return rooms;
+    }
+
+    @Benchmark
+    public List<Booking> bookingsWithSequenceBatch() {
+        List<Booking> bookings = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Booking booking = new Booking();
+            booking.setCheckInDate(checkIn);
+            booking.setCheckOutDate(checkIn.plusDays(2));
+            booking.setGuestFullName("Benchmark Guest");
+            booking.setGuestEmail("guest@delrio.test");
+            booking.setNumOfAdults(2);
+            booking.setNumOfChildren(0);
+            booking.calculateTotalNumberOfGuests();
+            booking.setBookingConfirmationCode(UUID.randomUUID().toString());
+            booking.setRoom(bookedRoom);
+            bookings.add(booking);
+        }
+        return transactionTemplate.execute(status -> bookingRepository.saveAll(bookings));
+    }
+
+    @Benchmark
+    public List<IdentityBooking> bookingsWithIdentity() {
+        List<IdentityBooking> bookings = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            IdentityBooking booking = new IdentityBooking();
+            booking.setCheckInDate(checkIn);
+            booking.setCheckOutDate(checkIn.plusDays(2));
+            booking.setGuestFullName("Benchmark Guest");
+            booking.setGuestEmail("guest@delrio.test");
+            booking.setNumOfAdults(2);
+            booking.setNumOfChildren(0);
+            booking.setTotalNumOfGuests(2);
+            booking.setBookingConfirmationCode(UUID.randomUUID().toString());
+            booking.setRoom(bookedRoom);
+            bookings.add(booking);
+        }
+        transactionTemplate.executeWithoutResult(status -> bookings.forEach(entityManager::persist));
+        return bookings;
+    }
+
+    private static Room newRoom(int i) {
+        Room room = new Room();
+        room.setRoomType("Standard");
+        room.setRoomPrice(new BigDecimal("100.00"));
+        room.setRoomDescription("Benchmark room " + i);
+        room.setRoomPhotoHash("%064x".formatted(i));
+        return room;
+    }
+}
@@ -0,0 +1,184 @@
+package com.backend.backend.availability;
+
+import com.backend.backend.dto.RoomCalendarDto;
+import com.backend.backend.dto.RoomSummaryDto;
+import com.backend.backend.repository.BookingRepository;
+import com.backend.backend.repository.RoomRepository;
+import com.backend.backend.transaction.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Disponibilidad de habitaciones en memoria. Se carga al arrancar desde la base y
+ * después se mantiene con los cambios de BookingService y RoomService, aplicados
+ * recién cuando la transacción que los produjo hace commit.
+ *
+ * Mantiene dos vistas de las mismas reservas: intervalos por habitación, para
+ * preguntar por una habitación puntual, y un índice de ocupación por noche, para
+ * buscar entre todas las habitaciones de un tipo en estadías largas.
+ *
+ * Las estadías se tratan como noches [checkIn, checkOut): una salida y una entrada
+ * el mismo día no se pisan.
+ *
+ * También expone el calendario de ocupación por habitación, para que el frontend
+ * resuelva localmente los rangos de fechas; la versión cambia con cada reserva,
+ * cancelación o cambio de habitación y sirve de ETag.
+ */
+@Component
+public class AvailabilityEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityEngine.class);
+
+    // El índice recorre (y para reservar, crea) un bitset por noche bajo su lock: el rango se acota antes
+    public static final int MAX_STAY_NIGHTS = 366;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private final Map<Long, RoomBookingIntervals> intervalsByRoom = new ConcurrentHashMap<>();
+    private final OccupancyIndex occupancy = new OccupancyIndex();
+
+    // Las lecturas no bloquean; las escrituras se serializan para que intervalos y ocupación no diverjan
+    private final Object writeLock = new Object();
+
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    void load() {
+        int rooms = 0;
+        for (RoomSummaryDto room : roomRepository.findAllSummaries()) {
+            occupancy.putRoom(room.getId(), room.getRoomType());
+            rooms++;
+        }
+        int bookings = 0;
+        for (BookedInterval interval : bookingRepository.findAllBookedIntervals()) {
+            addInterval(interval.bookingId(), interval.roomId(), interval.checkInDate(), interval.checkOutDate());
+            bookings++;
+        }
+        log.info("Availability engine loaded {} rooms and {} bookings", rooms, bookings);
+    }
+
+    /** Rechaza estadías vacías, invertidas o de más de MAX_STAY_NIGHTS noches. */
+    public static void checkStay(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (checkInDate == null || checkOutDate == null) {
+            throw new IllegalArgumentException("Check-in and check-out dates are required");
+        }
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (checkInDate.plusDays(MAX_STAY_NIGHTS).isBefore(checkOutDate)) {
+            throw new IllegalArgumentException("Stay cannot exceed " + MAX_STAY_NIGHTS + " nights");
+        }
+    }
+
+    public List<Long> findAvailableRoomIds(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
+        checkStay(checkInDate, checkOutDate);
+        BitSet free = occupancy.freeRooms(checkInDate.toEpochDay(), checkOutDate.toEpochDay(), roomType);
+        List<Long> available = new ArrayList<>(free.cardinality());
+        for (int id = free.nextSetBit(0); id >= 0; id = free.nextSetBit(id + 1)) {
+            available.add((long) id);
+        }
+        return available;
+    }
+
+    public boolean isAvailable(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        checkStay(checkInDate, checkOutDate);
+        RoomBookingIntervals intervals = intervalsByRoom.getOrDefault(roomId, RoomBookingIntervals.EMPTY);
+        return !intervals.overlaps(checkInDate.toEpochDay(), checkOutDate.toEpochDay());
+    }
+
+    /** ETag fuerte para una vista del calendario; se invalida con cualquier cambio aplicado. */
+    public String calendarEtag(String representation) {
+        return "\"calendar-" + instance + "-" + version.get() + "-" + representation + "\"";
+    }
+
+    public RoomCalendarDto calendar(Long roomId, LocalDate from, LocalDate to) {
+        if (!occupancy.hasRoom(roomId)) {
+            throw new NoSuchElementException("Room not found");
+        }
+        return roomCalendar(roomId, from, to);
+    }
+
+    public List<RoomCalendarDto> calendars(LocalDate from, LocalDate to, String roomType) {
+        BitSet rooms = occupancy.rooms(roomType);
+        List<RoomCalendarDto> calendars = new ArrayList<>(rooms.cardinality());
+        for (int id = rooms.nextSetBit(0); id >= 0; id = rooms.nextSetBit(id + 1)) {
+            calendars.add(roomCalendar((long) id, from, to));
+        }
+        return calendars;
+    }
+
+    private RoomCalendarDto roomCalendar(Long roomId, LocalDate from, LocalDate to) {
+        RoomBookingIntervals intervals = intervalsByRoom.getOrDefault(roomId, RoomBookingIntervals.EMPTY);
+        return new RoomCalendarDto(roomId, from, to, intervals.bookedRuns(from.toEpochDay(), to.toEpochDay()));
+    }
+
+    public void bookingSaved(Long bookingId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        checkStay(checkInDate, checkOutDate);
+        TransactionCallbacks.afterCommit(() -> addInterval(bookingId, roomId, checkInDate, checkOutDate));
+    }
+
+    public void bookingCancelled(Long bookingId, Long roomId) {
+        TransactionCallbacks.afterCommit(() -> removeInterval(bookingId, roomId));
+    }
+
+    public void roomSaved(Long roomId, String roomType) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (writeLock) {
+                occupancy.putRoom(roomId, roomType);
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    public void roomDeleted(Long roomId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (writeLock) {
+                occupancy.removeRoom(roomId);
+                intervalsByRoom.remove(roomId);
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    private void addInterval(Long bookingId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        long start = checkInDate.toEpochDay();
+        long end = checkOutDate.toEpochDay();
+        synchronized (writeLock) {
+            intervalsByRoom.compute(roomId, (id, intervals) ->
+                    (intervals == null ? RoomBookingIntervals.EMPTY : intervals).with(bookingId, start, end));
+            occupancy.book(roomId, start, end);
+            version.incrementAndGet();
+        }
+    }
+
+    private void removeInterval(Long bookingId, Long roomId) {
+        synchronized (writeLock) {
+            RoomBookingIntervals current = intervalsByRoom.get(roomId);
+            long[] range = current != null ? current.rangeOf(bookingId) : null;
+            if (range == null) {
+                return;
+            }
+            RoomBookingIntervals remaining = current.without(bookingId);
+            intervalsByRoom.put(roomId, remaining);
+            occupancy.release(roomId, range[0], range[1], night -> remaining.overlaps(night, night + 1));
+            version.incrementAndGet();
+        }
+    }
+}
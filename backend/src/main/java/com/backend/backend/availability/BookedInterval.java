@@ -0,0 +1,6 @@
+package com.backend.backend.availability;
+
+import java.time.LocalDate;
+
+public record BookedInterval(Long bookingId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+}
@@ -0,0 +1,133 @@
+package com.backend.backend.availability;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Ocupación por noche: para cada día epoch un bitset con los ids de habitación
+ * reservados esa noche, más un bitset de habitaciones por tipo. Buscar
+ * disponibilidad para [entrada, salida) es un OR de las noches del rango y un
+ * andNot contra las habitaciones del tipo pedido.
+ *
+ * Los ids de habitación vienen de una secuencia, así que son densos y un BitSet
+ * plano ocupa lo mismo que un contenedor bitmap de Roaring sin sumar dependencias.
+ */
+final class OccupancyIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, BitSet> bookedByNight = new HashMap<>();
+    private final Map<String, BitSet> roomsByType = new HashMap<>();
+
+    void putRoom(long roomId, String roomType) {
+        int bit = toBit(roomId);
+        lock.writeLock().lock();
+        try {
+            roomsByType.values().forEach(rooms -> rooms.clear(bit));
+            roomsByType.values().removeIf(BitSet::isEmpty);
+            roomsByType.computeIfAbsent(roomType, type -> new BitSet()).set(bit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeRoom(long roomId) {
+        int bit = toBit(roomId);
+        lock.writeLock().lock();
+        try {
+            roomsByType.values().forEach(rooms -> rooms.clear(bit));
+            roomsByType.values().removeIf(BitSet::isEmpty);
+            bookedByNight.values().forEach(rooms -> rooms.clear(bit));
+            bookedByNight.values().removeIf(BitSet::isEmpty);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void book(long roomId, long firstNight, long endNight) {
+        int bit = toBit(roomId);
+        lock.writeLock().lock();
+        try {
+            for (long night = firstNight; night < endNight; night++) {
+                bookedByNight.computeIfAbsent(night, n -> new BitSet()).set(bit);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Libera las noches del rango salvo las que otra reserva de la misma habitación
+     * sigue ocupando (datos históricos pueden tener reservas superpuestas).
+     */
+    void release(long roomId, long firstNight, long endNight, LongPredicate stillBooked) {
+        int bit = toBit(roomId);
+        lock.writeLock().lock();
+        try {
+            for (long night = firstNight; night < endNight; night++) {
+                BitSet rooms = bookedByNight.get(night);
+                if (rooms != null && !stillBooked.test(night)) {
+                    rooms.clear(bit);
+                    if (rooms.isEmpty()) {
+                        bookedByNight.remove(night);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean hasRoom(long roomId) {
+        int bit = toBit(roomId);
+        lock.readLock().lock();
+        try {
+            return roomsByType.values().stream().anyMatch(rooms -> rooms.get(bit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    BitSet rooms(String roomTypeFilter) {
+        lock.readLock().lock();
+        try {
+            return roomsOfType(roomTypeFilter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    BitSet freeRooms(long firstNight, long endNight, String roomTypeFilter) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = roomsOfType(roomTypeFilter);
+            for (long night = firstNight; night < endNight && !candidates.isEmpty(); night++) {
+                BitSet booked = bookedByNight.get(night);
+                if (booked != null) {
+                    candidates.andNot(booked);
+                }
+            }
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Llamar con el lock tomado. Coincidencia exacta con el nombre del tipo; sin filtro, todas
+    private BitSet roomsOfType(String roomTypeFilter) {
+        if (roomTypeFilter == null || roomTypeFilter.isBlank()) {
+            BitSet rooms = new BitSet();
+            roomsByType.values().forEach(rooms::or);
+            return rooms;
+        }
+        BitSet rooms = roomsByType.get(roomTypeFilter.trim());
+        return rooms != null ? (BitSet) rooms.clone() : new BitSet();
+    }
+
+    private static int toBit(long roomId) {
+        return Math.toIntExact(roomId);
+    }
+}
@@ -0,0 +1,151 @@
+package com.backend.backend.availability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reservas de una habitación como intervalos [entrada, salida) en días epoch,
+ * ordenados por entrada. Es inmutable: cada alta o baja crea una copia nueva,
+ * así las búsquedas leen sin bloqueo mientras se registran reservas.
+ *
+ * maxEnds[i] guarda la salida más tardía entre los intervalos 0..i, lo que permite
+ * saber si hay solapamiento con una sola búsqueda binaria aunque los datos
+ * históricos tengan reservas superpuestas.
+ */
+final class RoomBookingIntervals {
+
+    static final RoomBookingIntervals EMPTY = new RoomBookingIntervals(new long[0], new long[0], new long[0]);
+
+    private final long[] bookingIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private RoomBookingIntervals(long[] bookingIds, long[] starts, long[] ends) {
+        this.bookingIds = bookingIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    boolean overlaps(long start, long end) {
+        // Último intervalo que empieza antes de 'end'; si alguno hasta ahí termina después de 'start', se pisan
+        int idx = lastStartBefore(end);
+        return idx >= 0 && maxEnds[idx] > start;
+    }
+
+    /**
+     * Noches ocupadas dentro de [from, to) codificadas por tramos: cada elemento es
+     * {desplazamiento desde 'from', cantidad de noches}. Las reservas superpuestas o
+     * contiguas se funden en un solo tramo.
+     */
+    List<int[]> bookedRuns(long from, long to) {
+        List<int[]> runs = new ArrayList<>();
+        int last = lastStartBefore(to);
+        // maxEnds no decrece: el primer intervalo que puede tocar la ventana se busca en forma binaria
+        int first = firstMaxEndAfter(from, last);
+        long runStart = -1;
+        long runEnd = -1;
+        for (int i = first; i <= last; i++) {
+            if (ends[i] <= from) {
+                continue;
+            }
+            long start = Math.max(starts[i], from);
+            long end = Math.min(ends[i], to);
+            if (runEnd >= 0 && start <= runEnd) {
+                runEnd = Math.max(runEnd, end);
+            } else {
+                if (runEnd >= 0) {
+                    runs.add(new int[]{(int) (runStart - from), (int) (runEnd - runStart)});
+                }
+                runStart = start;
+                runEnd = end;
+            }
+        }
+        if (runEnd >= 0) {
+            runs.add(new int[]{(int) (runStart - from), (int) (runEnd - runStart)});
+        }
+        return runs;
+    }
+
+    RoomBookingIntervals with(long bookingId, long start, long end) {
+        RoomBookingIntervals base = without(bookingId);
+        int size = base.starts.length;
+        int pos = base.lastStartBefore(start + 1) + 1;
+
+        long[] newIds = new long[size + 1];
+        long[] newStarts = new long[size + 1];
+        long[] newEnds = new long[size + 1];
+        System.arraycopy(base.bookingIds, 0, newIds, 0, pos);
+        System.arraycopy(base.starts, 0, newStarts, 0, pos);
+        System.arraycopy(base.ends, 0, newEnds, 0, pos);
+        newIds[pos] = bookingId;
+        newStarts[pos] = start;
+        newEnds[pos] = end;
+        System.arraycopy(base.bookingIds, pos, newIds, pos + 1, size - pos);
+        System.arraycopy(base.starts, pos, newStarts, pos + 1, size - pos);
+        System.arraycopy(base.ends, pos, newEnds, pos + 1, size - pos);
+        return new RoomBookingIntervals(newIds, newStarts, newEnds);
+    }
+
+    RoomBookingIntervals without(long bookingId) {
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] == bookingId) {
+                int size = bookingIds.length;
+                long[] newIds = new long[size - 1];
+                long[] newStarts = new long[size - 1];
+                long[] newEnds = new long[size - 1];
+                System.arraycopy(bookingIds, 0, newIds, 0, i);
+                System.arraycopy(starts, 0, newStarts, 0, i);
+                System.arraycopy(ends, 0, newEnds, 0, i);
+                System.arraycopy(bookingIds, i + 1, newIds, i, size - i - 1);
+                System.arraycopy(starts, i + 1, newStarts, i, size - i - 1);
+                System.arraycopy(ends, i + 1, newEnds, i, size - i - 1);
+                return new RoomBookingIntervals(newIds, newStarts, newEnds);
+            }
+        }
+        return this;
+    }
+
+    /** Devuelve {entrada, salida} de la reserva o null si no está en esta habitación. */
+    long[] rangeOf(long bookingId) {
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] == bookingId) {
+                return new long[]{starts[i], ends[i]};
+            }
+        }
+        return null;
+    }
+
+    private int firstMaxEndAfter(long value, int last) {
+        int low = 0;
+        int high = last + 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] > value) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private int lastStartBefore(long value) {
+        int idx = Arrays.binarySearch(starts, value);
+        if (idx >= 0) {
+            // Hay inicios iguales a 'value': retrocedemos hasta el primero de ellos
+            while (idx > 0 && starts[idx - 1] == value) {
+                idx--;
+            }
+            return idx - 1;
+        }
+        return -idx - 2;
+    }
+}
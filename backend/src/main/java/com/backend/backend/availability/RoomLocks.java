@@ -0,0 +1,61 @@
+package com.backend.backend.availability;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Locks por habitación, repartidos en un número fijo de franjas (striping): dos
+ * reservas para la misma habitación se serializan, mientras que reservas para
+ * habitaciones distintas casi nunca comparten franja y corren en paralelo.
+ */
+@Component
+public class RoomLocks {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public RoomLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withRoomLock(Long roomId, Supplier<T> action) {
+        ReentrantLock lock = locks[stripeOf(roomId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Toma los locks de todas las habitaciones a la vez para una operación en lote.
+     * Las franjas se toman siempre en orden ascendente, así dos lotes que se cruzan
+     * no pueden quedar esperándose entre sí.
+     */
+    public <T> T withRoomLocks(Collection<Long> roomIds, Supplier<T> action) {
+        int[] stripes = roomIds.stream().mapToInt(RoomLocks::stripeOf).distinct().sorted().toArray();
+        int locked = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    static int stripeOf(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), STRIPES);
+    }
+}
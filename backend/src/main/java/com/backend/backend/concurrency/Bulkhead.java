@@ -0,0 +1,77 @@
+package com.backend.backend.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita cuántas tareas de un tipo (JDBC, BCrypt) corren a la vez. Las que no
+ * consiguen lugar esperan como máximo maxWaitMs y después se rechazan con
+ * BulkheadFullException, en lugar de acumular hilos bloqueados.
+ */
+public class Bulkhead implements MeterBinder {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, long maxWaitMs) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public void acquire() {
+        queued.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+            throw new BulkheadFullException(name);
+        }
+        active.incrementAndGet();
+    }
+
+    public void release() {
+        active.decrementAndGet();
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bulkhead.active", active, AtomicInteger::get).tag("name", name).register(registry);
+        Gauge.builder("bulkhead.queued", queued, AtomicInteger::get).tag("name", name).register(registry);
+        Gauge.builder("bulkhead.max", () -> maxConcurrent).tag("name", name).register(registry);
+        FunctionCounter.builder("bulkhead.rejected", rejected, AtomicLong::get).tag("name", name).register(registry);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, maxConcurrent, active.get(), queued.get(), rejected.get());
+    }
+
+    public record Snapshot(String name, int maxConcurrent, int active, int queued, long rejected) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.backend.backend.concurrency;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que ocupa un lugar del bulkhead de JDBC mientras la conexión está
+ * prestada y lo libera al cerrarla. Solo cuenta las conexiones pedidas desde un
+ * request HTTP: el trabajo de fondo (outbox, cargas al arrancar) usa el margen
+ * que queda entre el bulkhead y el pool.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Bulkhead bulkhead;
+
+    public BulkheadDataSource(DataSource target, Bulkhead bulkhead) {
+        super(target);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!inRequest()) {
+            return super.getConnection();
+        }
+        bulkhead.acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!inRequest()) {
+            return super.getConnection(username, password);
+        }
+        bulkhead.acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    private static boolean inRequest() {
+        return RequestContextHolder.getRequestAttributes() != null;
+    }
+
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            bulkhead.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,23 @@
+package com.backend.backend.concurrency;
+
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String bulkheadName) {
+        super("Server busy (" + bulkheadName + "), please retry");
+    }
+
+    /**
+     * Relanza el rechazo del bulkhead aunque venga envuelto (p. ej. en CannotCreateTransactionException).
+     * Lo usa solo ConcurrencyExceptionHandler; los controllers capturan únicamente sus errores de negocio.
+     */
+    public static void rethrowIfCause(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadFullException bulkheadFull) {
+                throw bulkheadFull;
+            }
+            if (cause.getCause() == cause) {
+                return;
+            }
+        }
+    }
+}
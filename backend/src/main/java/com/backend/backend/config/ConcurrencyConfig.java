@@ -0,0 +1,40 @@
+package com.backend.backend.config;
+
+import com.backend.backend.concurrency.Bulkhead;
+import com.backend.backend.concurrency.BulkheadDataSource;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Bulkhead que acota las conexiones JDBC en uso (BCrypt tiene su propio pool en
+ * PasswordHashingService). Con spring.threads.virtual.enabled=true (Java 21+) los
+ * requests ya no están limitados por el pool de hilos de Tomcat, así que estos
+ * límites son los que protegen la base y la CPU.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    @Bean
+    public Bulkhead jdbcBulkhead(@Value("${concurrency.jdbc.max-concurrent:8}") int maxConcurrent,
+                                 @Value("${concurrency.jdbc.max-wait-ms:2000}") long maxWaitMs) {
+        return new Bulkhead("jdbc", maxConcurrent, maxWaitMs);
+    }
+
+    @Bean
+    static BeanPostProcessor jdbcBulkheadPostProcessor(BeanFactory beanFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, beanFactory.getBean("jdbcBulkhead", Bulkhead.class));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.backend.backend.config;
+
+import com.backend.backend.entity.Room;
+import com.backend.backend.service.RoomCatalogCache;
+import com.backend.backend.service.RoomCatalogVersion;
+import com.backend.backend.storage.RoomPhotoStorage;
+import com.backend.backend.storage.RoomPhotoVariants;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Pasa las fotos antiguas (Base64 dentro de rooms.room_photo_url) al almacenamiento
+ * de fotos en disco. Se procesa una habitación por vez para no cargar todas las
+ * imágenes en memoria, y la columna vieja se limpia al terminar cada una (si era un
+ * large object se borra con lo_unlink en la misma transacción). Corre con la aplicación
+ * ya sirviendo, así que cada habitación migrada invalida el catálogo en memoria.
+ */
+@Component
+public class LegacyRoomPhotoMigrator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyRoomPhotoMigrator.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoomPhotoStorage roomPhotoStorage;
+
+    @Autowired
+    private RoomPhotoVariants roomPhotoVariants;
+
+    @Autowired
+    private RoomCatalogCache catalogCache;
+
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+
+    @Override
+    public void run(String... args) {
+        List<String> legacyColumnType = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns " +
+                        "WHERE table_name = 'rooms' AND column_name = 'room_photo_url'",
+                String.class);
+        if (legacyColumnType.isEmpty()) {
+            return;
+        }
+        // Hibernate mapea @Lob String a oid en PostgreSQL; si alguien lo cambió a text se lee directo
+        boolean largeObject = "oid".equalsIgnoreCase(legacyColumnType.get(0));
+
+        List<Long> roomIds = jdbcTemplate.queryForList(
+                "SELECT id FROM rooms WHERE room_photo_url IS NOT NULL AND room_photo_hash IS NULL",
+                Long.class);
+
+        for (Long roomId : roomIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> migrate(roomId, largeObject));
+            } catch (RuntimeException e) {
+                log.warn("Could not migrate legacy photo of room {}", roomId, e);
+            }
+        }
+
+        if (!roomIds.isEmpty()) {
+            log.info("Migrated {} legacy room photos to {}", roomIds.size(), RoomPhotoStorage.class.getSimpleName());
+        }
+    }
+
+    private void migrate(Long roomId, boolean largeObject) {
+        String base64 = jdbcTemplate.queryForObject(
+                "SELECT room_photo_url FROM rooms WHERE id = ?",
+                (rs, rowNum) -> largeObject ? readClob(rs.getClob(1)) : rs.getString(1),
+                roomId);
+        if (base64 == null || base64.isBlank()) {
+            return;
+        }
+
+        byte[] bytes = Base64.getMimeDecoder().decode(base64);
+        RoomPhotoStorage.StoredPhoto stored;
+        try {
+            stored = roomPhotoStorage.store(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (largeObject) {
+            // Poner la columna en NULL no borra el large object: quedaría huérfano en pg_largeobject
+            jdbcTemplate.queryForList(
+                    "SELECT lo_unlink(r.room_photo_url) FROM rooms r WHERE r.id = ? " +
+                            "AND EXISTS (SELECT 1 FROM pg_largeobject_metadata m WHERE m.oid = r.room_photo_url)",
+                    roomId);
+        }
+        jdbcTemplate.update(
+                "UPDATE rooms SET room_photo_hash = ?, room_photo_content_type = ?, room_photo_size = ?, " +
+                        "room_photo_url = NULL WHERE id = ?",
+                stored.hash(), stored.contentType(), stored.size(), roomId);
+        // El UPDATE por JDBC no pasa por Hibernate: se descarta la copia de la caché de segundo nivel
+        entityManagerFactory.getCache().evict(Room.class, roomId);
+        // Los DTO y ETag del catálogo todavía no tienen la foto nueva; se invalidan al confirmar
+        catalogCache.roomChanged(roomId, false);
+        catalogVersion.bump();
+        roomPhotoVariants.generate(stored.hash());
+    }
+
+    private static String readClob(Clob clob) throws SQLException {
+        if (clob == null) {
+            return null;
+        }
+        try (Reader reader = clob.getCharacterStream()) {
+            StringWriter writer = new StringWriter();
+            reader.transferTo(writer);
+            return writer.toString();
+        } catch (IOException e) {
+            throw new SQLException(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.backend.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.stereotype.Service;
+
+/**
+ * Métricas propias de la aplicación. Endpoints (http.server.requests), repositorios
+ * (spring.data.repository.invocations), Hikari e Hibernate los instrumenta Spring Boot;
+ * acá se agrega un timer por método público de cada @Service.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Infraestructura: así lo aplica el mismo auto-proxy que @Transactional, sin depender de AspectJ
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        MethodInterceptor interceptor = invocation -> {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return invocation.proceed();
+            }
+            Timer.Sample sample = Timer.start(registry);
+            String exception = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                sample.stop(Timer.builder("app.service.calls")
+                        .description("Duración de los métodos de los servicios")
+                        .tag("class", AopUtils.getTargetClass(invocation.getThis()).getSimpleName())
+                        .tag("method", invocation.getMethod().getName())
+                        .tag("exception", exception)
+                        .register(registry));
+            }
+        };
+        return new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forClassAnnotation(Service.class), interceptor);
+    }
+}
@@ -2,6 +2,9 @@ package com.backend.backend.config;
 
 
 import com.backend.backend.security.JwtAuthenticationFilter;
+import com.backend.backend.security.PasswordHashingService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,8 +15,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -26,6 +27,13 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CorsConfigurationSource corsConfigurationSource;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    // -1 si no hay puerto de management propio (Actuator comparte el puerto de la aplicación)
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
                           CorsConfigurationSource corsConfigurationSource) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
@@ -33,8 +41,11 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordHashingService passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength,
+                                                  @Value("${security.bcrypt.pool-size:0}") int poolSize,
+                                                  @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new PasswordHashingService(strength, threads, queueCapacity);
     }
 
     @Bean
@@ -50,7 +61,12 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/api/rooms/all", "/api/rooms/{id}", "/api/rooms/types").permitAll()
+                        // Actuator es libre solo en el puerto de management (interno, no publicado);
+                        // si llega por el puerto de la aplicación, solo para administradores
+                        .requestMatchers(this::isManagementPortRequest).permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers("/api/rooms/all", "/api/rooms/page", "/api/rooms/search", "/api/rooms/{id}", "/api/rooms/types").permitAll()
+                        .requestMatchers("/api/rooms/{id}/photo", "/api/rooms/{id}/calendar", "/api/rooms/calendar").permitAll()
                         .requestMatchers("/api/rooms/available").permitAll()
                         .requestMatchers("/api/bookings/confirmation/{confirmationCode}").permitAll()
                         .requestMatchers("/api/rooms/add", "/api/rooms/update/**", "/api/rooms/delete/**")
@@ -61,4 +77,8 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    private boolean isManagementPortRequest(HttpServletRequest request) {
+        return managementPort > 0 && managementPort != serverPort && request.getLocalPort() == managementPort;
+    }
 }
\ No newline at end of file
@@ -3,11 +3,16 @@ package com.backend.backend.controller;
 import com.backend.backend.request.LoginRequest;
 import com.backend.backend.request.RegisterRequest;
 import com.backend.backend.response.ApiResponse;
+import com.backend.backend.security.PasswordHashingBusyException;
 import com.backend.backend.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -25,7 +30,10 @@ public class AuthController {
             Map<String, Object> user = authService.register(request);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("User registered successfully", user));
-        } catch (RuntimeException e) {
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
+        } catch (IllegalArgumentException | DataIntegrityViolationException e) {
+            // Email repetido (o dos registros simultáneos del mismo email)
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error(e.getMessage()));
         }
@@ -36,9 +44,18 @@ public class AuthController {
         try {
             Map<String, Object> authResponse = authService.login(request);
             return ResponseEntity.ok(ApiResponse.success("Login successful", authResponse));
-        } catch (RuntimeException e) {
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
+        } catch (BadCredentialsException | AccountStatusException e) {
+            // Los fallos internos (p. ej. sin conexión a la base) no son credenciales inválidas: siguen de largo
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Invalid credentials"));
         }
     }
-}
\ No newline at end of file
+
+    private <T> ResponseEntity<ApiResponse<T>> tooManyRequests(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
+}
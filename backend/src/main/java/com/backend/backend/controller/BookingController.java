@@ -1,17 +1,28 @@
 package com.backend.backend.controller;
 
 import com.backend.backend.dto.BookingDto;
+import com.backend.backend.request.BatchBookingRequest;
 import com.backend.backend.request.BookingRequest;
 import com.backend.backend.response.ApiResponse;
+import com.backend.backend.response.BatchBookingResult;
+import com.backend.backend.response.CursorPage;
 import com.backend.backend.service.BookingService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -29,7 +40,35 @@ public class BookingController {
             String confirmationCode = bookingService.saveBooking(roomId, bookingRequest);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Booking successful!", confirmationCode));
-        } catch (Exception e) {
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException | NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Reservas en lote: 201 si se crearon todas, 207 si solo algunas, 409 si ninguna
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<BatchBookingResult>>> saveBookings(
+            @Valid @RequestBody BatchBookingRequest batchRequest) {
+        try {
+            List<BatchBookingResult> results = bookingService.saveBookings(batchRequest);
+            long created = results.stream().filter(r -> BatchBookingResult.CREATED.equals(r.getStatus())).count();
+            String message = created + " of " + results.size() + " bookings created";
+            if (created == results.size()) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(message, results));
+            }
+            if (created == 0) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, message, results));
+            }
+            return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(ApiResponse.success(message, results));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException | NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error(e.getMessage()));
         }
@@ -40,7 +79,7 @@ public class BookingController {
         try {
             BookingDto booking = bookingService.findByConfirmationCode(confirmationCode);
             return ResponseEntity.ok(ApiResponse.success("Booking found", booking));
-        } catch (RuntimeException e) {
+        } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
         }
@@ -53,6 +92,79 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success("All bookings retrieved", bookings));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<BookingDto>>> getBookingsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<BookingDto> page = bookingService.getBookingsPage(cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success("Bookings page retrieved", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Se escribe directo al response (en el mismo hilo, sin request async ni su timeout)
+    // mientras se lee el cursor; nada se acumula en memoria
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public void exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        if (!"ndjson".equals(format) && !"csv".equals(format)) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setContentType("csv".equals(format)
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8).toString()
+                : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + format + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            GZIPOutputStream gzipOut = new GZIPOutputStream(response.getOutputStream(), 8192);
+            bookingService.exportBookings(format, gzipOut);
+            gzipOut.finish();
+        } else {
+            bookingService.exportBookings(format, response.getOutputStream());
+        }
+    }
+
+    // RFC 9110: "gzip;q=0" lo rechaza explícitamente y "*" cubre gzip si no aparece por nombre
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
     @GetMapping("/user/{email}")
     @PreAuthorize("#email == authentication.name or hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<ApiResponse<List<BookingDto>>> getBookingsByEmail(
@@ -65,12 +177,7 @@ public class BookingController {
     @DeleteMapping("/{bookingId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> cancelBooking(@PathVariable Long bookingId) {
-        try {
-            bookingService.cancelBooking(bookingId);
-            return ResponseEntity.ok(ApiResponse.success("Booking cancelled successfully", null));
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(ApiResponse.error(e.getMessage()));
-        }
+        bookingService.cancelBooking(bookingId);
+        return ResponseEntity.ok(ApiResponse.success("Booking cancelled successfully", null));
     }
 }
@@ -0,0 +1,35 @@
+package com.backend.backend.controller;
+
+import com.backend.backend.concurrency.BulkheadFullException;
+import com.backend.backend.response.ApiResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ConcurrencyExceptionHandler {
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBulkheadFull(BulkheadFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
+    // Sin conexión para abrir la transacción: si fue el bulkhead, también es un 503.
+    // Otros envoltorios sin handler propio (InternalAuthenticationServiceException, DataAccessException)
+    // ya los resuelve Spring por la causa hasta llegar a handleBulkheadFull
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiResponse<Void>> handleCannotCreateTransaction(CannotCreateTransactionException e) {
+        try {
+            BulkheadFullException.rethrowIfCause(e);
+        } catch (BulkheadFullException bulkheadFull) {
+            return handleBulkheadFull(bulkheadFull);
+        }
+        // Cualquier otra causa sigue el manejo por defecto
+        throw e;
+    }
+}
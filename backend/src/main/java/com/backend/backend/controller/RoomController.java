@@ -1,20 +1,43 @@
 package com.backend.backend.controller;
 
+import com.backend.backend.availability.AvailabilityEngine;
+import com.backend.backend.dto.RoomCalendarDto;
 import com.backend.backend.dto.RoomDto;
+import com.backend.backend.dto.RoomSummaryDto;
 import com.backend.backend.entity.Room;
 import com.backend.backend.response.ApiResponse;
+import com.backend.backend.response.CursorPage;
+import com.backend.backend.service.RoomCatalogCache;
+import com.backend.backend.service.RoomCatalogVersion;
 import com.backend.backend.service.RoomService;
+import com.backend.backend.storage.RoomPhotoStorage;
+import com.backend.backend.storage.RoomPhotoVariants;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/rooms")
@@ -23,6 +46,26 @@ public class RoomController {
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+
+    @Autowired
+    private RoomCatalogCache catalogCache;
+
+    @Autowired
+    private AvailabilityEngine availabilityEngine;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    // 0 = el navegador o la CDN guardan la respuesta pero revalidan siempre (304 si no cambió)
+    @Value("${rooms.catalog.cache-max-age-seconds:0}")
+    private long catalogMaxAgeSeconds;
+
+    // Noches que devuelve el calendario cuando no se indica 'to'
+    @Value("${rooms.calendar.default-nights:90}")
+    private int calendarDefaultNights;
+
     @PostMapping("/add")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Room>> addRoom(
@@ -34,42 +77,201 @@ public class RoomController {
             Room savedRoom = roomService.addRoom(photo, roomType, roomPrice, roomDescription);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Room added successfully", savedRoom));
-        } catch (Exception e) {
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error adding room: " + e.getMessage()));
         }
     }
 
     @GetMapping("/types")
-    public ResponseEntity<ApiResponse<List<String>>> getRoomTypes() {
+    public ResponseEntity<ApiResponse<List<String>>> getRoomTypes(WebRequest webRequest) {
+        String etag = catalogVersion.etag("types");
+        long lastModified = catalogVersion.lastModified();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
         List<String> roomTypes = roomService.getAllRoomTypes();
-        return ResponseEntity.ok(ApiResponse.success("Room types retrieved", roomTypes));
+        return catalogResponse(etag, lastModified)
+                .body(ApiResponse.success("Room types retrieved", roomTypes));
     }
 
+    // El catálogo completo se sirve con los bytes JSON ya serializados (se regeneran solo si cambian las habitaciones)
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<RoomDto>>> getAllRooms() {
-        List<RoomDto> rooms = roomService.getAllRooms();
-        return ResponseEntity.ok(ApiResponse.success("All rooms retrieved", rooms));
+    public ResponseEntity<byte[]> getAllRooms(WebRequest webRequest) {
+        String etag = catalogVersion.etag("all");
+        long lastModified = catalogVersion.lastModified();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        byte[] body = catalogCache.json(RoomCatalogCache.ALL_ROOMS, () ->
+                jsonMapper.writeValueAsBytes(ApiResponse.success("All rooms retrieved", roomService.getAllRooms())));
+        return catalogResponse(etag, lastModified)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // Vista liviana para listados: no materializa entidades Room, solo las columnas necesarias
+    @GetMapping(value = "/all", params = "view=summary")
+    public ResponseEntity<byte[]> getAllRoomSummaries(WebRequest webRequest) {
+        String etag = catalogVersion.etag("summary");
+        long lastModified = catalogVersion.lastModified();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        byte[] body = catalogCache.json(RoomCatalogCache.ALL_SUMMARIES, () ->
+                jsonMapper.writeValueAsBytes(ApiResponse.success("All rooms retrieved", roomService.getAllRoomSummaries())));
+        return catalogResponse(etag, lastModified)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPage<RoomSummaryDto>>> getRoomsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<RoomSummaryDto> page = roomService.getRoomsPage(cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success("Rooms page retrieved", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Búsqueda libre por tipo y descripción; el filtro por tipo de /available es exacto
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<RoomSummaryDto>>> searchRooms(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<RoomSummaryDto> rooms = roomService.searchRooms(q, limit);
+            return ResponseEntity.ok(ApiResponse.success("Rooms found", rooms));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<RoomDto>> getRoomById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<RoomDto>> getRoomById(@PathVariable Long id, WebRequest webRequest) {
+        // La versión se lee antes de consultar: si cambia en el medio, el cuerpo es más nuevo que el ETag y no al revés
+        String etag = catalogVersion.etag("room-" + id);
+        long lastModified = catalogVersion.lastModified();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
         try {
             RoomDto room = roomService.getRoomById(id);
-            return ResponseEntity.ok(ApiResponse.success("Room retrieved", room));
-        } catch (RuntimeException e) {
+            return catalogResponse(etag, lastModified)
+                    .body(ApiResponse.success("Room retrieved", room));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Ocupación por noche de una habitación en [from, to), codificada por tramos. El frontend
+     * la pide una vez y responde localmente mientras el usuario mueve las fechas.
+     */
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<ApiResponse<RoomCalendarDto>> getRoomCalendar(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(calendarDefaultNights);
+        String etag = availabilityEngine.calendarEtag(id + "-" + start + "-" + end);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            RoomCalendarDto calendar = roomService.getRoomCalendar(id, start, end);
+            return calendarResponse(etag).body(ApiResponse.success("Room calendar retrieved", calendar));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
         }
     }
 
+    @GetMapping("/calendar")
+    public ResponseEntity<ApiResponse<List<RoomCalendarDto>>> getRoomCalendars(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String roomType,
+            WebRequest webRequest) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(calendarDefaultNights);
+        String etag = availabilityEngine.calendarEtag("all-" + start + "-" + end + "-" + Objects.hashCode(roomType));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            List<RoomCalendarDto> calendars = roomService.getRoomCalendars(start, end, roomType);
+            return calendarResponse(etag).body(ApiResponse.success("Room calendars retrieved", calendars));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // size=thumb|medium|full: los listados piden versiones reducidas en lugar de la foto original
+    @GetMapping("/{id}/photo")
+    public ResponseEntity<StreamingResponseBody> getRoomPhoto(@PathVariable Long id,
+                                                              @RequestParam(required = false) String size,
+                                                              WebRequest webRequest) {
+        RoomPhotoVariants.Size photoSize;
+        try {
+            photoSize = RoomPhotoVariants.Size.parse(size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        RoomService.RoomPhoto photo;
+        long contentLength;
+        try {
+            photo = roomService.getRoomPhoto(id, photoSize);
+            contentLength = Files.size(photo.path());
+        } catch (NoSuchElementException | IOException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // El hash del contenido es un ETag fuerte: si el navegador ya lo tiene respondemos 304
+        String etag = "\"" + photo.etag() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        // transferTo evita copiar la imagen al heap; con un destino que no es socket el JDK usa su propio buffer directo
+        StreamingResponseBody body = out -> {
+            try (FileChannel channel = FileChannel.open(photo.path(), StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = 0;
+                while (position < contentLength) {
+                    position += channel.transferTo(position, contentLength - position, target);
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(photo.contentType()))
+                .contentLength(contentLength)
+                .eTag(etag)
+                .cacheControl(photo.immutable()
+                        ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                        : CacheControl.noCache().cachePublic())
+                .body(body);
+    }
+
     @DeleteMapping("/delete/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Void>> deleteRoom(@PathVariable Long id) {
         try {
             roomService.deleteRoom(id);
             return ResponseEntity.ok(ApiResponse.success("Room deleted successfully", null));
-        } catch (RuntimeException e) {
+        } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
         }
@@ -87,18 +289,37 @@ public class RoomController {
             Room updatedRoom = roomService.updateRoom(id, roomType, roomPrice, roomDescription, photo);
             RoomDto roomDto = convertToDto(updatedRoom);
             return ResponseEntity.ok(ApiResponse.success("Room updated successfully", roomDto));
-        } catch (Exception e) {
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (NoSuchElementException | IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error updating room: " + e.getMessage()));
         }
     }
 
+    private ResponseEntity.BodyBuilder catalogResponse(String etag, long lastModified) {
+        CacheControl cacheControl = catalogMaxAgeSeconds > 0
+                ? CacheControl.maxAge(catalogMaxAgeSeconds, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.noCache().cachePublic();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl);
+    }
+
+    // La ocupación cambia con cada reserva: se guarda pero se revalida siempre
+    private static ResponseEntity.BodyBuilder calendarResponse(String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePublic());
+    }
+
     private RoomDto convertToDto(Room room) {
         RoomDto dto = new RoomDto();
         dto.setId(room.getId());
         dto.setRoomType(room.getRoomType());
         dto.setRoomPrice(room.getRoomPrice());
-        dto.setRoomPhotoUrl(room.getRoomPhotoUrl());
+        dto.setRoomPhotoUrl(RoomPhotoStorage.photoUrl(room.getId(), room.getRoomPhotoHash()));
         dto.setRoomDescription(room.getRoomDescription());
         return dto;
     }
@@ -108,8 +329,24 @@ public class RoomController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
             @RequestParam String roomType) {
-        List<RoomDto> availableRooms = roomService.getAvailableRooms(checkInDate, checkOutDate, roomType);
-        return ResponseEntity.ok(ApiResponse.success("Available rooms retrieved", availableRooms));
+        try {
+            List<RoomDto> availableRooms = roomService.getAvailableRooms(checkInDate, checkOutDate, roomType);
+            return ResponseEntity.ok(ApiResponse.success("Available rooms retrieved", availableRooms));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
-}
 
+    @GetMapping(value = "/available", params = "view=summary")
+    public ResponseEntity<ApiResponse<List<RoomSummaryDto>>> getAvailableRoomSummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam String roomType) {
+        try {
+            List<RoomSummaryDto> availableRooms = roomService.getAvailableRoomSummaries(checkInDate, checkOutDate, roomType);
+            return ResponseEntity.ok(ApiResponse.success("Available rooms retrieved", availableRooms));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
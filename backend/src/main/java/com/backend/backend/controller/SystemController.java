@@ -0,0 +1,77 @@
+package com.backend.backend.controller;
+
+import com.backend.backend.concurrency.Bulkhead;
+import com.backend.backend.response.ApiResponse;
+import com.backend.backend.security.PasswordHashingService;
+import com.backend.backend.service.RoomCatalogCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/system")
+public class SystemController {
+
+    @Autowired
+    private List<Bulkhead> bulkheads;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private RoomCatalogCache roomCatalogCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @GetMapping("/concurrency")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<Bulkhead.Snapshot>>> getConcurrency() {
+        List<Bulkhead.Snapshot> snapshots = new ArrayList<>();
+        bulkheads.forEach(bulkhead -> snapshots.add(bulkhead.snapshot()));
+        snapshots.add(passwordHashingService.snapshot());
+        return ResponseEntity.ok(ApiResponse.success("Concurrency limits retrieved", snapshots));
+    }
+
+    @GetMapping("/caches")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, RoomCatalogCache.Stats>>> getCaches() {
+        Map<String, RoomCatalogCache.Stats> stats = new LinkedHashMap<>(roomCatalogCache.stats());
+        stats.putAll(secondLevelCacheStats());
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved", stats));
+    }
+
+    // Regiones de la caché de segundo nivel de Hibernate (entidades, ids naturales y consultas)
+    private Map<String, RoomCatalogCache.Stats> secondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<String> regions = new ArrayList<>(List.of(statistics.getSecondLevelCacheRegionNames()));
+        regions.add(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+        Map<String, RoomCatalogCache.Stats> stats = new LinkedHashMap<>();
+        for (String region : regions) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats == null) {
+                continue;
+            }
+            long hits = regionStats.getHitCount();
+            long misses = regionStats.getMissCount();
+            stats.put("hibernate:" + region, new RoomCatalogCache.Stats(
+                    Math.max(0, regionStats.getElementCountInMemory()), hits, misses, 0,
+                    hits + misses == 0 ? 1.0 : (double) hits / (hits + misses)));
+        }
+        return stats;
+    }
+}
@@ -2,6 +2,7 @@ package com.backend.backend.controller;
 
 import com.backend.backend.entity.User;
 import com.backend.backend.response.ApiResponse;
+import com.backend.backend.response.CursorPage;
 import com.backend.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +10,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -24,13 +26,37 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Lista de usuarios obtenida", users));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<User>>> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<User> page = userService.getUsersPage(cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success("Página de usuarios obtenida", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/{email}")
     @PreAuthorize("hasRole('ADMIN') or authentication.name == #email")
     public ResponseEntity<ApiResponse<User>> getUserByEmail(@PathVariable String email) {
         try {
             User user = userService.getUserByEmail(email);
             return ResponseEntity.ok(ApiResponse.success("Usuario encontrado", user));
-        } catch (Exception e) {
+        } catch (IllegalArgumentException | NoSuchElementException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<User>> updateUserRole(@PathVariable Long id, @RequestParam String role) {
+        try {
+            User user = userService.updateUserRole(id, role);
+            return ResponseEntity.ok(ApiResponse.success("Rol actualizado correctamente", user));
+        } catch (IllegalArgumentException | NoSuchElementException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
@@ -41,7 +67,7 @@ public class UserController {
         try {
             userService.deleteUser(id);
             return ResponseEntity.ok(ApiResponse.success("Usuario eliminado correctamente", null));
-        } catch (Exception e) {
+        } catch (IllegalArgumentException | NoSuchElementException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
@@ -0,0 +1,23 @@
+package com.backend.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Ocupación de una habitación por noche en [from, to). 'booked' va codificado por
+ * tramos: cada elemento es [noches desde 'from', cantidad de noches ocupadas].
+ * Una habitación libre todo el rango tiene la lista vacía.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomCalendarDto {
+    private Long roomId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<int[]> booked;
+}
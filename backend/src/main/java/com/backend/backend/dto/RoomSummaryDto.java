@@ -0,0 +1,26 @@
+package com.backend.backend.dto;
+
+import com.backend.backend.storage.RoomPhotoStorage;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class RoomSummaryDto {
+    private Long id;
+    private String roomType;
+    private BigDecimal roomPrice;
+    private String roomDescription;
+    private String roomPhotoUrl;
+
+    // Usado por las consultas de proyección de RoomRepository (SELECT new ...)
+    public RoomSummaryDto(Long id, String roomType, BigDecimal roomPrice, String roomDescription, String roomPhotoHash) {
+        this.id = id;
+        this.roomType = roomType;
+        this.roomPrice = roomPrice;
+        this.roomDescription = roomDescription;
+        this.roomPhotoUrl = RoomPhotoStorage.photoUrl(id, roomPhotoHash);
+    }
+}
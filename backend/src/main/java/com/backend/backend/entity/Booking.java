@@ -14,8 +14,10 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class Booking {
 
+    // Secuencia con bloques de 50 ids: con IDENTITY Hibernate no puede agrupar los INSERT en batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
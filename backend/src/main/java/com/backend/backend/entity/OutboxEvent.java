@@ -0,0 +1,57 @@
+package com.backend.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento pendiente de publicar (outbox transaccional). Se inserta en la misma
+ * transacción que el cambio que lo origina y OutboxDispatcher lo entrega después
+ * a los OutboxEventSink, fuera del request.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType; // Booking, ...
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 100)
+    private String eventType; // BookingCreated, ...
+
+    // JSON; en PostgreSQL la columna es text
+    @Column(nullable = false, length = 10000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Próximo intento; mientras un dispatcher lo procesa es el fin de su lease
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime processedAt;
+
+    // Agotó los reintentos: ya no se toma y queda para revisar a mano (last_error tiene el motivo)
+    private LocalDateTime deadAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
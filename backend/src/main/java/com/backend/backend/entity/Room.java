@@ -1,35 +1,52 @@
 package com.backend.backend.entity;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
+// Caché de segundo nivel: findById en cada reserva y detalle no vuelve a la base mientras la habitación no cambie
 @Entity
 @Table(name = "rooms")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Room {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
-    private String roomType; // Standard, Deluxe, Suite, etc.
+    private String roomType; // Standard, Deluxe, Suite, etc. (nombre de 'type', copiado para listados y proyecciones)
+
+    // RoomService lo resuelve a partir de roomType al crear o modificar la habitación
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_type_id")
+    private RoomType type;
 
     @Column(nullable = false)
     private BigDecimal roomPrice;
 
-    @Lob
-    @Column(length = 16777215) // MEDIUMBLOB para MySQL
-    private String roomPhotoUrl; // Base64 encoded image
+    @Column(length = 64)
+    private String roomPhotoHash; // SHA-256 del archivo en RoomPhotoStorage
+
+    @Column(length = 100)
+    private String roomPhotoContentType;
+
+    private Long roomPhotoSize;
 
     @Column(nullable = false)
     private String roomDescription;
@@ -37,4 +54,3 @@ public class Room {
     @OneToMany(mappedBy = "room", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Booking> bookings = new ArrayList<>();
 }
-
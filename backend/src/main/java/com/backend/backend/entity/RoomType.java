@@ -0,0 +1,31 @@
+package com.backend.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Tipo de habitación (Standard, Deluxe, Suite, ...). Cada habitación apunta a uno por
+ * room_type_id, así filtrar por tipo es una igualdad indexada y /api/rooms/types lee
+ * esta tabla chica en lugar de recorrer rooms.
+ */
+@Entity
+@Table(name = "room_types")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room-type")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomType {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_types_seq")
+    @SequenceGenerator(name = "room_types_seq", sequenceName = "room_types_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+}
@@ -0,0 +1,55 @@
+package com.backend.backend.outbox;
+
+import com.backend.backend.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Agrega cada evento como una línea JSON (NDJSON) al archivo outbox.sinks.file.path.
+ * Sirve para desarrollo y para alimentar a mano otro sistema mientras no hay integración.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.file.path")
+public class FileOutboxSink implements OutboxEventSink {
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private final Path file;
+
+    public FileOutboxSink(@Value("${outbox.sinks.file.path}") String path) {
+        this.file = Paths.get(path).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void publish(OutboxEvent event) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("id", event.getId());
+        line.put("eventType", event.getEventType());
+        line.put("aggregateType", event.getAggregateType());
+        line.put("aggregateId", event.getAggregateId());
+        line.put("createdAt", event.getCreatedAt().toString());
+        line.put("payload", jsonMapper.readTree(event.getPayload()));
+        String json = jsonMapper.writeValueAsString(line) + "\n";
+
+        // Varios workers escriben a la vez: cada línea entra completa
+        synchronized (this) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, json, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.backend.backend.outbox;
+
+import com.backend.backend.entity.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Reemplazo local de los sistemas externos: deja cada evento en el log
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public void publish(OutboxEvent event) {
+        log.info("Outbox event {} {} {}#{}: {}", event.getId(), event.getEventType(),
+                event.getAggregateType(), event.getAggregateId(), event.getPayload());
+    }
+}
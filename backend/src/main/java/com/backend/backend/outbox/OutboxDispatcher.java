@@ -0,0 +1,254 @@
+package com.backend.backend.outbox;
+
+import com.backend.backend.entity.OutboxEvent;
+import com.backend.backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica los eventos del outbox en segundo plano. Cada ronda toma un lote de eventos
+ * vencidos con SELECT ... FOR UPDATE SKIP LOCKED, les extiende el lease y confirma;
+ * después los entrega a los sinks en un pool acotado, fuera de cualquier transacción,
+ * y marca en una sola transacción corta cuáles se publicaron y cuáles se reintentan.
+ *
+ * Un evento que falla se reintenta con espera exponencial; al llegar a max-attempts
+ * queda marcado como muerto (dead_at), se loguea como error y se cuenta en
+ * outbox.events{result=dead}. Si la instancia cae (o tarda más que el lease) mientras
+ * lo procesa, otra lo vuelve a tomar cuando vence el lease; el resultado de la ronda
+ * vieja se descarta porque los mark* exigen que el lease siga siendo el suyo.
+ * Con spring.threads.virtual.enabled=true (Java 21+) los workers son hilos virtuales.
+ */
+@Component
+public class OutboxDispatcher implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final long MAX_BACKOFF_SECONDS = 300;
+    private static final long DEAD_COUNT_REFRESH_MS = 60_000;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired(required = false)
+    private List<OutboxEventSink> sinks = List.of();
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.dispatcher.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.dispatcher.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${outbox.dispatcher.batch-size:50}")
+    private int batchSize;
+
+    @Value("${outbox.dispatcher.threads:4}")
+    private int threads;
+
+    @Value("${outbox.dispatcher.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.dispatcher.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ScheduledExecutorService poller;
+    private Executor workers;
+    private Counter published;
+    private Counter failed;
+    private Counter dead;
+    private final AtomicLong deadEvents = new AtomicLong();
+    private volatile long deadCountedAt;
+
+    @PostConstruct
+    void start() {
+        workers = virtualThreads ? virtualWorkers() : platformWorkers();
+        if (!enabled) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Outbox dispatcher started with {} sinks", sinks.size());
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (workers instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        } else if (workers instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        published = Counter.builder("outbox.events").tag("result", "published").register(registry);
+        failed = Counter.builder("outbox.events").tag("result", "failed").register(registry);
+        dead = Counter.builder("outbox.events").tag("result", "dead").register(registry);
+        // Total en la base (todas las instancias): se recuenta como mucho una vez por minuto, no en cada scrape
+        Gauge.builder("outbox.events.dead", this, OutboxDispatcher::deadEvents)
+                .register(registry);
+    }
+
+    /** Procesa un lote de eventos vencidos y devuelve cuántos tomó. */
+    public int dispatchPending() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<String>> deliveries = new ArrayList<>(claimed.size());
+        for (OutboxEvent event : claimed) {
+            deliveries.add(CompletableFuture.supplyAsync(() -> deliver(event), workers));
+        }
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+
+        LocalDateTime now = LocalDateTime.now();
+        // Todo el lote comparte el lease que le puso claim()
+        LocalDateTime lease = claimed.get(0).getNextAttemptAt();
+        List<Long> done = new ArrayList<>();
+        List<OutboxEvent> retried = new ArrayList<>();
+        List<OutboxEvent> exhausted = new ArrayList<>();
+        int processed = transactionTemplate.execute(status -> {
+            for (int i = 0; i < claimed.size(); i++) {
+                OutboxEvent event = claimed.get(i);
+                String error = deliveries.get(i).join();
+                if (error == null) {
+                    done.add(event.getId());
+                } else if (event.getAttempts() + 1 >= maxAttempts) {
+                    if (outboxEventRepository.markDead(event.getId(), lease, now, error) == 1) {
+                        exhausted.add(event);
+                    }
+                } else if (outboxEventRepository.markFailed(event.getId(), lease,
+                        now.plusSeconds(backoffSeconds(event.getAttempts())), error) == 1) {
+                    retried.add(event);
+                }
+            }
+            return done.isEmpty() ? 0 : outboxEventRepository.markProcessed(done, lease, now);
+        });
+        int lostLeases = claimed.size() - processed - retried.size() - exhausted.size();
+        if (lostLeases > 0) {
+            log.warn("{} outbox events outlived their {}s lease; their result was left to the instance that retook them",
+                    lostLeases, leaseSeconds);
+        }
+        exhausted.forEach(event -> log.error("Outbox event {} ({} {}#{}) gave up after {} attempts",
+                event.getId(), event.getEventType(), event.getAggregateType(), event.getAggregateId(), maxAttempts));
+        deadEvents.addAndGet(exhausted.size());
+        count(published, processed);
+        count(failed, retried.size());
+        count(dead, exhausted.size());
+        return claimed.size();
+    }
+
+    private List<OutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findDueForUpdate(now, Limit.of(batchSize));
+        // El lease evita que otra ronda (u otra instancia) los tome mientras se entregan.
+        // En microsegundos, como TIMESTAMP(6), para que después se pueda comparar por igualdad
+        LocalDateTime lease = now.plusSeconds(leaseSeconds).truncatedTo(ChronoUnit.MICROS);
+        events.forEach(event -> event.setNextAttemptAt(lease));
+        return events;
+    }
+
+    // Entre recuentos suma los que marcó esta instancia; el recuento trae los de las demás
+    long deadEvents() {
+        long now = System.currentTimeMillis();
+        if (now - deadCountedAt >= DEAD_COUNT_REFRESH_MS) {
+            deadCountedAt = now;
+            deadEvents.set(outboxEventRepository.countByDeadAtIsNotNull());
+        }
+        return deadEvents.get();
+    }
+
+    // null si todos los sinks lo aceptaron; si no, el error para guardar en last_error
+    private String deliver(OutboxEvent event) {
+        for (OutboxEventSink sink : sinks) {
+            try {
+                sink.publish(event);
+            } catch (Exception e) {
+                log.warn("Outbox event {} failed in {}: {}", event.getId(), sink.getClass().getSimpleName(), e.getMessage());
+                String error = sink.getClass().getSimpleName() + ": " + e.getMessage();
+                return error.length() > 1000 ? error.substring(0, 1000) : error;
+            }
+        }
+        return null;
+    }
+
+    // Sigue tomando lotes mientras vengan llenos, así un pico se vacía sin esperar al próximo intervalo
+    private void drain() {
+        try {
+            int taken;
+            do {
+                taken = dispatchPending();
+            } while (taken == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            log.warn("Outbox dispatch round failed: {}", e.getMessage());
+        }
+    }
+
+    private static long backoffSeconds(int attempts) {
+        return Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 20));
+    }
+
+    private static void count(Counter counter, int amount) {
+        if (counter != null && amount > 0) {
+            counter.increment(amount);
+        }
+    }
+
+    // La cola entra un lote completo: cada ronda espera a que termine antes de tomar otro
+    private Executor platformWorkers() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(batchSize),
+                task -> {
+                    Thread thread = new Thread(task, "outbox-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private Executor virtualWorkers() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("outbox-worker-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(threads);
+        return executor;
+    }
+}
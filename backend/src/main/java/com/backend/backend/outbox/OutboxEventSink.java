@@ -0,0 +1,13 @@
+package com.backend.backend.outbox;
+
+import com.backend.backend.entity.OutboxEvent;
+
+/**
+ * Destino de los eventos del outbox (email de confirmación, sincronización con el PMS, ...).
+ * La entrega es al menos una vez: si un sink falla el evento se reintenta en todos,
+ * así que cada sink debe tolerar duplicados usando event.getId().
+ */
+public interface OutboxEventSink {
+
+    void publish(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,38 @@
+package com.backend.backend.outbox;
+
+import com.backend.backend.entity.OutboxEvent;
+import com.backend.backend.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+
+/**
+ * Agrega eventos al outbox. Exige una transacción abierta: el evento se guarda o se
+ * descarta junto con el cambio que lo origina.
+ */
+@Component
+public class OutboxWriter {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setPayload(jsonMapper.writeValueAsString(payload));
+        event.setCreatedAt(now);
+        event.setNextAttemptAt(now);
+        outboxEventRepository.save(event);
+    }
+}
@@ -1,15 +1,64 @@
 package com.backend.backend.repository;
 
+import com.backend.backend.availability.BookedInterval;
 import com.backend.backend.entity.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    // Todas las consultas que terminan en BookingDto traen la habitación en el mismo SELECT (sin N+1)
+    @EntityGraph(attributePaths = "room")
     Optional<Booking> findByBookingConfirmationCode(String confirmationCode);
+
+    @EntityGraph(attributePaths = "room")
     List<Booking> findByUserId(Long userId);
+
+    @EntityGraph(attributePaths = "room")
     List<Booking> findByUserEmail(String email);
+
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.room ORDER BY b.id")
+    List<Booking> findAllWithRoom();
+
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.room WHERE b.id > :afterId ORDER BY b.id")
+    List<Booking> findPageAfter(Long afterId, Limit limit);
+
+    // Cursor de JDBC para exportar sin cargar la tabla entera; requiere una transacción abierta
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.room ORDER BY b.id")
+    Stream<Booking> streamAllWithRoom();
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.room.id = :roomId " +
+            "AND b.checkOutDate > :checkInDate AND b.checkInDate < :checkOutDate")
+    boolean existsOverlapping(Long roomId, LocalDate checkInDate, LocalDate checkOutDate);
+
+    @Query("SELECT new com.backend.backend.availability.BookedInterval(b.id, b.room.id, b.checkInDate, b.checkOutDate) " +
+            "FROM Booking b WHERE b.room IS NOT NULL")
+    List<BookedInterval> findAllBookedIntervals();
+
+    // Reservas de esas habitaciones que tocan la ventana [from, to): una sola consulta para validar un lote
+    @Query("SELECT new com.backend.backend.availability.BookedInterval(b.id, b.room.id, b.checkInDate, b.checkOutDate) " +
+            "FROM Booking b WHERE b.room.id IN :roomIds AND b.checkOutDate > :from AND b.checkInDate < :to")
+    List<BookedInterval> findBookedIntervalsOverlapping(Collection<Long> roomIds, LocalDate from, LocalDate to);
+
+    @Query("SELECT new com.backend.backend.availability.BookedInterval(b.id, b.room.id, b.checkInDate, b.checkOutDate) " +
+            "FROM Booking b WHERE b.room IS NOT NULL AND b.user.id = :userId")
+    List<BookedInterval> findBookedIntervalsByUserId(Long userId);
 }
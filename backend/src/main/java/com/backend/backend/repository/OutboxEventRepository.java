@@ -0,0 +1,46 @@
+package com.backend.backend.repository;
+
+import com.backend.backend.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // FOR UPDATE SKIP LOCKED (timeout -2): varias instancias toman lotes distintos sin esperarse
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.deadAt IS NULL " +
+            "AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findDueForUpdate(LocalDateTime now, Limit limit);
+
+    // Los mark* solo tocan la fila si sigue con el lease de esta ronda (next_attempt_at = :lease):
+    // si venció y otra instancia la volvió a tomar, devuelven 0 y no pisan su resultado
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :processedAt, e.lastError = NULL " +
+            "WHERE e.id IN :ids AND e.nextAttemptAt = :lease")
+    int markProcessed(Collection<Long> ids, LocalDateTime lease, LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :error WHERE e.id = :id AND e.nextAttemptAt = :lease")
+    int markFailed(Long id, LocalDateTime lease, LocalDateTime nextAttemptAt, String error);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.deadAt = :deadAt, e.lastError = :error " +
+            "WHERE e.id = :id AND e.nextAttemptAt = :lease")
+    int markDead(Long id, LocalDateTime lease, LocalDateTime deadAt, String error);
+
+    long countByDeadAtIsNotNull();
+}
@@ -1,21 +1,55 @@
 package com.backend.backend.repository;
 
+import com.backend.backend.dto.RoomSummaryDto;
 import com.backend.backend.entity.Room;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
-    @Query("SELECT DISTINCT r.roomType FROM Room r")
-    List<String> findDistinctRoomTypes();
-
-    @Query("SELECT r FROM Room r WHERE r.roomType LIKE %:roomType% AND r.id NOT IN " +
-            "(SELECT b.room.id FROM Booking b WHERE " +
-            "(b.checkInDate <= :checkOutDate) AND (b.checkOutDate >= :checkInDate))")
+    // Igualdad sobre room_types.name (único) y room_type_id: usa índices, a diferencia de LIKE '%tipo%'
+    @Query("SELECT r FROM Room r JOIN r.type t WHERE t.name = :roomType AND NOT EXISTS " +
+            "(SELECT 1 FROM Booking b WHERE b.room = r AND " +
+            "(b.checkInDate < :checkOutDate) AND (b.checkOutDate > :checkInDate))")
     List<Room> findAvailableRoomsByDatesAndType(LocalDate checkInDate, LocalDate checkOutDate, String roomType);
+
+    /**
+     * Búsqueda libre sobre tipo y descripción con pg_trgm (solo PostgreSQL): coincidencia por
+     * subcadena o por similitud de palabras, ordenada por similitud. Ambos operadores usan
+     * el índice GIN idx_rooms_search_trgm (V6). 'pattern' es la consulta ya escapada para ILIKE.
+     */
+    @Query(value = "SELECT r.id FROM rooms r " +
+            "WHERE (r.room_type || ' ' || r.room_description) ILIKE ('%' || :pattern || '%') " +
+            "OR :query <% (r.room_type || ' ' || r.room_description) " +
+            "ORDER BY word_similarity(:query, r.room_type || ' ' || r.room_description) DESC, r.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Long> searchIds(String query, String pattern, int limit);
+
+    // Sin pg_trgm (V6 lo deja opcional): solo subcadena, sin orden por similitud ni índice
+    @Query(value = "SELECT r.id FROM rooms r " +
+            "WHERE (r.room_type || ' ' || r.room_description) ILIKE ('%' || :pattern || '%') " +
+            "ORDER BY r.id LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsBySubstring(String pattern, int limit);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", nativeQuery = true)
+    boolean isTrigramAvailable();
+
+    @Query("SELECT new com.backend.backend.dto.RoomSummaryDto(r.id, r.roomType, r.roomPrice, r.roomDescription, r.roomPhotoHash) " +
+            "FROM Room r ORDER BY r.id")
+    List<RoomSummaryDto> findAllSummaries();
+
+    @Query("SELECT new com.backend.backend.dto.RoomSummaryDto(r.id, r.roomType, r.roomPrice, r.roomDescription, r.roomPhotoHash) " +
+            "FROM Room r WHERE r.id IN :ids ORDER BY r.id")
+    List<RoomSummaryDto> findSummariesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.backend.backend.dto.RoomSummaryDto(r.id, r.roomType, r.roomPrice, r.roomDescription, r.roomPhotoHash) " +
+            "FROM Room r WHERE r.id > :afterId ORDER BY r.id")
+    List<RoomSummaryDto> findSummaryPageAfter(Long afterId, Limit limit);
 }
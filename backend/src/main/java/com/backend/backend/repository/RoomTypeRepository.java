@@ -0,0 +1,21 @@
+package com.backend.backend.repository;
+
+import com.backend.backend.entity.RoomType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RoomTypeRepository extends JpaRepository<RoomType, Long>, RoomTypeUpsertRepository {
+
+    // Solo los tipos con alguna habitación: un probe por tipo sobre idx_rooms_room_type_id, sin recorrer rooms.
+    // Va a la caché de consultas; Hibernate la invalida con cualquier escritura en rooms o room_types
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT t.name FROM RoomType t WHERE EXISTS (SELECT 1 FROM Room r WHERE r.type = t) ORDER BY t.name")
+    List<String> findNamesInUse();
+}
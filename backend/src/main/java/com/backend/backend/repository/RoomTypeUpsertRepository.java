@@ -0,0 +1,9 @@
+package com.backend.backend.repository;
+
+import com.backend.backend.entity.RoomType;
+
+public interface RoomTypeUpsertRepository {
+
+    // Busca el tipo sin distinguir mayúsculas y, si no existe, lo crea; seguro con altas concurrentes
+    RoomType findOrCreate(String name);
+}
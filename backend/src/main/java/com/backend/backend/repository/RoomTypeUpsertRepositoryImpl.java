@@ -0,0 +1,45 @@
+package com.backend.backend.repository;
+
+import com.backend.backend.entity.RoomType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+class RoomTypeUpsertRepositoryImpl implements RoomTypeUpsertRepository {
+
+    private static final String FIND = "SELECT t FROM RoomType t WHERE lower(t.name) = lower(:name) ORDER BY t.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Dos altas simultáneas del mismo tipo nuevo: ON CONFLICT DO NOTHING (índice único sobre lower(name))
+    // hace que la segunda espere a la primera y no inserte; la consulta siguiente ya ve la fila confirmada.
+    // nextval devuelve el techo de un bloque que Hibernate no usa, así que el id no choca con los suyos
+    @Override
+    @Transactional
+    public RoomType findOrCreate(String name) {
+        List<RoomType> existing = find(name);
+        if (!existing.isEmpty()) {
+            return existing.get(0);
+        }
+        entityManager.createNativeQuery(
+                        "INSERT INTO room_types (id, name) VALUES (nextval('room_types_seq'), :name) ON CONFLICT DO NOTHING")
+                .setParameter("name", name)
+                .unwrap(NativeQuery.class)
+                // Solo invalida la caché de segundo nivel de room_types, no todas las regiones
+                .addSynchronizedEntityClass(RoomType.class)
+                .executeUpdate();
+        return find(name).stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("Room type could not be created: " + name));
+    }
+
+    private List<RoomType> find(String name) {
+        return entityManager.createQuery(FIND, RoomType.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList();
+    }
+}
@@ -0,0 +1,11 @@
+package com.backend.backend.repository;
+
+import com.backend.backend.entity.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    // Por id natural en lugar de una consulta: con la caché de segundo nivel no hay SQL
+    Optional<User> findByEmail(String email);
+}
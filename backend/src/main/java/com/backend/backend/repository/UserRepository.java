@@ -2,13 +2,14 @@ package com.backend.backend.repository;
 
 
 import com.backend.backend.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
     boolean existsByEmail(String email);
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
@@ -0,0 +1,13 @@
+package com.backend.backend.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BatchBookingItem extends BookingRequest {
+
+    @NotNull(message = "Room id is required")
+    private Long roomId;
+}
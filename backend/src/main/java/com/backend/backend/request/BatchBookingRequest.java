@@ -0,0 +1,19 @@
+package com.backend.backend.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchBookingRequest {
+
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 200, message = "A batch can contain at most 200 bookings")
+    private List<@Valid BatchBookingItem> bookings;
+
+    // true: se guardan todas o ninguna; false: se guardan las que se puedan y se informa cada una
+    private boolean atomic;
+}
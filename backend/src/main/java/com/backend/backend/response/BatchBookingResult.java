@@ -0,0 +1,33 @@
+package com.backend.backend.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+    public static final String SKIPPED = "SKIPPED";
+
+    private int index;
+    private Long roomId;
+    private String status;
+    private String bookingConfirmationCode;
+    private String error;
+
+    public static BatchBookingResult created(int index, Long roomId, String confirmationCode) {
+        return new BatchBookingResult(index, roomId, CREATED, confirmationCode, null);
+    }
+
+    public static BatchBookingResult rejected(int index, Long roomId, String error) {
+        return new BatchBookingResult(index, roomId, REJECTED, null, error);
+    }
+
+    public static BatchBookingResult skipped(int index, Long roomId) {
+        return new BatchBookingResult(index, roomId, SKIPPED, null, "Batch rejected: another booking in it failed");
+    }
+}
@@ -1,13 +1,18 @@
 package com.backend.backend.security;
 
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,6 +21,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -26,6 +32,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // claims: el usuario sale del token verificado, sin ir a la base; database: se carga (con cache) en cada request
+    @Value("${jwt.auth.mode:claims}")
+    private String authMode;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -33,9 +49,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? validate(jwt) : Optional.empty();
+
+            if (claims.isPresent()) {
+                UserDetails userDetails = resolveUser(claims.get());
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -54,6 +71,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private Optional<Claims> validate(String jwt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Optional<Claims> claims = tokenProvider.getValidatedClaims(jwt);
+        sample.stop(Timer.builder("jwt.validation")
+                .description("Verificación de firma y vencimiento del JWT")
+                .tag("outcome", claims.isPresent() ? "valid" : "invalid")
+                .register(meterRegistry));
+        return claims;
+    }
+
+    private UserDetails resolveUser(Claims claims) {
+        String email = claims.getSubject();
+        String role = claims.get("role", String.class);
+
+        if ("claims".equals(authMode) && role != null
+                && !userDetailsCache.issuedBeforeInvalidation(email, claims.getIssuedAt())) {
+            return User.withUsername(email)
+                    .password("")
+                    .authorities(role)
+                    .build();
+        }
+        return userDetailsCache.get(email, userDetailsService::loadUserByUsername);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,8 @@
+package com.backend.backend.security;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many authentication requests, please retry");
+    }
+}
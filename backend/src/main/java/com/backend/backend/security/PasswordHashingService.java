@@ -0,0 +1,117 @@
+package com.backend.backend.security;
+
+import com.backend.backend.concurrency.Bulkhead;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt en un pool propio de tamaño fijo (un hilo por núcleo) con cola acotada.
+ * Los hilos de request solo esperan el resultado: si la cola está llena se rechaza
+ * enseguida con PasswordHashingBusyException (429) en vez de ocupar todos los núcleos.
+ *
+ * upgradeEncoding detecta hashes con un costo distinto al configurado, así
+ * DaoAuthenticationProvider los vuelve a generar en el próximo login correcto.
+ */
+public class PasswordHashingService implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final int poolSize;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHashingService(int strength, int poolSize, int queueCapacity) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.poolSize = poolSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "bcrypt-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    // Mismos nombres que los bulkheads, con name=bcrypt
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bulkhead.active", executor, ThreadPoolExecutor::getActiveCount).tag("name", "bcrypt").register(registry);
+        Gauge.builder("bulkhead.queued", executor, e -> e.getQueue().size()).tag("name", "bcrypt").register(registry);
+        Gauge.builder("bulkhead.max", () -> poolSize).tag("name", "bcrypt").register(registry);
+        FunctionCounter.builder("bulkhead.rejected", rejected, AtomicLong::get).tag("name", "bcrypt").register(registry);
+    }
+
+    public Bulkhead.Snapshot snapshot() {
+        return new Bulkhead.Snapshot("bcrypt", poolSize, executor.getActiveCount(),
+                executor.getQueue().size(), rejected.get());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new PasswordHashingBusyException();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
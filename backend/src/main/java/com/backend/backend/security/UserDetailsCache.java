@@ -0,0 +1,68 @@
+package com.backend.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * Cache corto de UserDetails por email, acotado en tamaño, para no consultar la base
+ * en cada request autenticada. UserService lo invalida al borrar un usuario o cambiarle
+ * el rol; desde ese momento los tokens emitidos antes dejan de confiar en sus claims.
+ *
+ * Las invalidaciones viven en la memoria de esta instancia: con varias instancias, las
+ * demás siguen aceptando los claims de tokens anteriores hasta que vencen (jwt.expiration).
+ */
+@Component
+public class UserDetailsCache {
+
+    @Value("${security.user-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${security.user-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+
+    private Cache<String, UserDetails> entries;
+
+    // email -> momento de la última invalidación; se guarda mientras pueda existir un token anterior vigente.
+    // Sin límite de tamaño: desalojar una entrada volvería a aceptar un token revocado
+    private Cache<String, Long> invalidations;
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        invalidations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpirationMs))
+                .build();
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return entries.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        invalidations.put(email, System.currentTimeMillis());
+        entries.invalidate(email);
+    }
+
+    /** true si el token se emitió antes de la última invalidación del usuario (o no trae iat). */
+    public boolean issuedBeforeInvalidation(String email, Date issuedAt) {
+        Long invalidatedAt = invalidations.getIfPresent(email);
+        if (invalidatedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() <= invalidatedAt;
+    }
+}
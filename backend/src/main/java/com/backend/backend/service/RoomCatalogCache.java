@@ -0,0 +1,128 @@
+package com.backend.backend.service;
+
+import com.backend.backend.dto.RoomDto;
+import com.backend.backend.transaction.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache en memoria del catálogo de habitaciones: cada habitación por id, las listas
+ * completas (y sus tipos) y los bytes JSON ya serializados de las respuestas de
+ * /api/rooms/all. RoomService invalida solo lo que cada cambio afecta, después del commit.
+ */
+@Component
+public class RoomCatalogCache implements MeterBinder {
+
+    public static final String ALL_ROOMS = "all";
+    public static final String ALL_SUMMARIES = "summary";
+    public static final String ROOM_TYPES = "types";
+
+    private final Cache<Long, RoomDto> rooms;
+    private final Cache<String, Object> lists;
+    private final Cache<String, byte[]> json;
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoomCatalogCache(@Value("${rooms.cache.max-rooms:10000}") long maxRooms,
+                            @Value("${rooms.cache.ttl-seconds:600}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.rooms = Caffeine.newBuilder().maximumSize(maxRooms).expireAfterWrite(ttl).recordStats().build();
+        this.lists = Caffeine.newBuilder().maximumSize(16).expireAfterWrite(ttl).recordStats().build();
+        this.json = Caffeine.newBuilder().maximumSize(16).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    public RoomDto room(Long roomId, Function<Long, RoomDto> loader) {
+        return rooms.get(roomId, loader);
+    }
+
+    public Map<Long, RoomDto> presentRooms(Collection<Long> roomIds) {
+        return rooms.getAllPresent(roomIds);
+    }
+
+    /** Se lee antes de consultar la base; putRoom descarta el valor si hubo una invalidación en el medio. */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void putRoom(RoomDto room, long readAtGeneration) {
+        rooms.asMap().compute(room.getId(), (id, current) ->
+                generation.get() == readAtGeneration ? room : current);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T list(String key, Supplier<T> loader) {
+        return (T) getGuarded(lists, key, loader::get);
+    }
+
+    public byte[] json(String key, Supplier<byte[]> serializer) {
+        return getGuarded(json, key, serializer);
+    }
+
+    // Igual que putRoom: un valor calculado antes de una invalidación se devuelve pero no se guarda
+    private <K, V> V getGuarded(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long readAtGeneration = generation.get();
+        V value = loader.get();
+        cache.asMap().compute(key, (k, current) -> generation.get() == readAtGeneration ? value : current);
+        return value;
+    }
+
+    /** Alta o cambio de una habitación; los tipos solo se recalculan si el tipo pudo cambiar. */
+    public void roomChanged(Long roomId, boolean typesChanged) {
+        TransactionCallbacks.afterCommit(() -> {
+            generation.incrementAndGet();
+            rooms.invalidate(roomId);
+            lists.invalidate(ALL_ROOMS);
+            lists.invalidate(ALL_SUMMARIES);
+            json.invalidateAll();
+            if (typesChanged) {
+                lists.invalidate(ROOM_TYPES);
+            }
+        });
+    }
+
+    public void roomDeleted(Long roomId) {
+        roomChanged(roomId, true);
+    }
+
+    // cache.gets / cache.evictions / cache.size con tag cache=room-catalog.*
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, rooms, "room-catalog.rooms");
+        CaffeineCacheMetrics.monitor(registry, lists, "room-catalog.lists");
+        CaffeineCacheMetrics.monitor(registry, json, "room-catalog.json");
+    }
+
+    public Map<String, Stats> stats() {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        stats.put("rooms", Stats.of(rooms));
+        stats.put("lists", Stats.of(lists));
+        stats.put("json", Stats.of(json));
+        return stats;
+    }
+
+    public record Stats(long size, long hits, long misses, long evictions, double hitRate) {
+
+        static Stats of(Cache<?, ?> cache) {
+            CacheStats stats = cache.stats();
+            return new Stats(cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                    stats.evictionCount(), stats.hitRate());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.backend.backend.service;
+
+import com.backend.backend.transaction.TransactionCallbacks;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versión del catálogo público de habitaciones. RoomService la incrementa en cada alta,
+ * modificación o baja (después del commit), y RoomController la usa como ETag y
+ * Last-Modified para responder 304 sin consultar ni serializar nada.
+ *
+ * El ETag lleva el momento de arranque, así un reinicio no reutiliza versiones viejas.
+ * Si el request trae If-None-Match, Spring valida el ETag y no mira If-Modified-Since.
+ */
+@Component
+public class RoomCatalogVersion {
+
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReference<State> state = new AtomicReference<>(new State(0, currentSecond()));
+
+    /** ETag fuerte para una representación puntual del catálogo (lista, resumen, tipos, una habitación). */
+    public String etag(String representation) {
+        return "\"rooms-" + instance + "-" + state.get().version() + "-" + representation + "\"";
+    }
+
+    public long lastModified() {
+        return state.get().lastModified();
+    }
+
+    public void bump() {
+        // Last-Modified siempre avanza al menos un segundo: dos cambios en el mismo segundo con la misma
+        // fecha harían que un cliente que solo manda If-Modified-Since reciba 304 con datos viejos
+        TransactionCallbacks.afterCommit(() -> state.updateAndGet(current ->
+                new State(current.version() + 1, Math.max(current.lastModified() + 1000, currentSecond()))));
+    }
+
+    // Last-Modified tiene resolución de segundos
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000 * 1000;
+    }
+
+    private record State(long version, long lastModified) {
+    }
+}
@@ -1,91 +1,274 @@
 package com.backend.backend.service;
 
 
+import com.backend.backend.availability.AvailabilityEngine;
+import com.backend.backend.dto.RoomCalendarDto;
 import com.backend.backend.dto.RoomDto;
+import com.backend.backend.dto.RoomSummaryDto;
 import com.backend.backend.entity.Room;
+import com.backend.backend.entity.RoomType;
 import com.backend.backend.repository.RoomRepository;
+import com.backend.backend.repository.RoomTypeRepository;
+import com.backend.backend.response.CursorPage;
+import com.backend.backend.storage.RoomPhotoStorage;
+import com.backend.backend.storage.RoomPhotoVariants;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class RoomService {
 
+    // Un año de noches: el calendario de todas las habitaciones sigue siendo una respuesta chica
+    public static final int MAX_CALENDAR_NIGHTS = 366;
+
+    private static final int MAX_SEARCH_LENGTH = 100;
+
+    private volatile Boolean trigramSearch;
+
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomPhotoStorage roomPhotoStorage;
+
+    @Autowired
+    private RoomPhotoVariants roomPhotoVariants;
+
+    @Autowired
+    private AvailabilityEngine availabilityEngine;
+
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+
+    @Autowired
+    private RoomCatalogCache catalogCache;
+
+    @Transactional
     public Room addRoom(MultipartFile photo, String roomType, BigDecimal roomPrice, String roomDescription) throws IOException {
         Room room = new Room();
-        room.setRoomType(roomType);
+        setType(room, roomType);
         room.setRoomPrice(roomPrice);
         room.setRoomDescription(roomDescription);
 
         if (photo != null && !photo.isEmpty()) {
-            byte[] photoBytes = photo.getBytes();
-            String base64Photo = Base64.getEncoder().encodeToString(photoBytes);
-            room.setRoomPhotoUrl(base64Photo);
+            storePhoto(room, photo);
         }
 
-        return roomRepository.save(room);
+        Room savedRoom = roomRepository.save(room);
+        availabilityEngine.roomSaved(savedRoom.getId(), savedRoom.getRoomType());
+        catalogCache.roomChanged(savedRoom.getId(), true);
+        catalogVersion.bump();
+        return savedRoom;
     }
 
     public List<String> getAllRoomTypes() {
-        return roomRepository.findDistinctRoomTypes();
+        return catalogCache.list(RoomCatalogCache.ROOM_TYPES,
+                () -> List.copyOf(roomTypeRepository.findNamesInUse()));
+    }
+
+    /** Búsqueda libre por tipo y descripción, ordenada por similitud (pg_trgm). */
+    public List<RoomSummaryDto> searchRooms(String query, Integer limit) {
+        String text = query == null ? "" : query.trim();
+        if (text.length() < 2 || text.length() > MAX_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("Search text must have between 2 and " + MAX_SEARCH_LENGTH + " characters");
+        }
+        String pattern = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        int max = CursorPage.clampLimit(limit);
+        List<Long> ids = trigramAvailable()
+                ? roomRepository.searchIds(text, pattern, max)
+                : roomRepository.searchIdsBySubstring(pattern, max);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // findSummariesByIdIn ordena por id: se vuelve al orden por similitud
+        Map<Long, RoomSummaryDto> byId = roomRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(RoomSummaryDto::getId, room -> room));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // pg_trgm se instala (o no) en V6: se consulta una sola vez
+    private boolean trigramAvailable() {
+        Boolean available = trigramSearch;
+        if (available == null) {
+            available = roomRepository.isTrigramAvailable();
+            trigramSearch = available;
+        }
+        return available;
     }
 
     public List<RoomDto> getAllRooms() {
-        List<Room> rooms = roomRepository.findAll();
-        return rooms.stream().map(this::convertToDto).collect(Collectors.toList());
+        return catalogCache.list(RoomCatalogCache.ALL_ROOMS,
+                () -> roomRepository.findAll().stream().map(this::convertToDto).toList());
+    }
+
+    public List<RoomSummaryDto> getAllRoomSummaries() {
+        return catalogCache.list(RoomCatalogCache.ALL_SUMMARIES,
+                () -> List.copyOf(roomRepository.findAllSummaries()));
+    }
+
+    public CursorPage<RoomSummaryDto> getRoomsPage(String cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<RoomSummaryDto> rooms = roomRepository.findSummaryPageAfter(CursorPage.decodeCursor(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rooms, pageSize, RoomSummaryDto::getId);
     }
 
     public RoomDto getRoomById(Long roomId) {
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
-        return convertToDto(room);
+        // Una habitación inexistente no se cachea: la excepción sale del loader sin guardar nada
+        return catalogCache.room(roomId, id -> roomRepository.findById(id)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new NoSuchElementException("Room not found")));
     }
 
+    @Transactional
     public void deleteRoom(Long roomId) {
         roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
+                .orElseThrow(() -> new NoSuchElementException("Room not found"));
         roomRepository.deleteById(roomId);
+        availabilityEngine.roomDeleted(roomId);
+        catalogCache.roomDeleted(roomId);
+        catalogVersion.bump();
     }
 
+    @Transactional
     public Room updateRoom(Long roomId, String roomType, BigDecimal roomPrice, String roomDescription, MultipartFile photo) throws IOException {
         Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
+                .orElseThrow(() -> new NoSuchElementException("Room not found"));
 
-        if (roomType != null) room.setRoomType(roomType);
+        String previousType = room.getRoomType();
+        if (roomType != null) setType(room, roomType);
+        boolean typeChanged = !room.getRoomType().equals(previousType);
         if (roomPrice != null) room.setRoomPrice(roomPrice);
         if (roomDescription != null) room.setRoomDescription(roomDescription);
 
         if (photo != null && !photo.isEmpty()) {
-            byte[] photoBytes = photo.getBytes();
-            String base64Photo = Base64.getEncoder().encodeToString(photoBytes);
-            room.setRoomPhotoUrl(base64Photo);
+            storePhoto(room, photo);
         }
 
-        return roomRepository.save(room);
+        Room savedRoom = roomRepository.save(room);
+        availabilityEngine.roomSaved(savedRoom.getId(), savedRoom.getRoomType());
+        catalogCache.roomChanged(savedRoom.getId(), typeChanged);
+        catalogVersion.bump();
+        return savedRoom;
+    }
+
+    public RoomPhoto getRoomPhoto(Long roomId, RoomPhotoVariants.Size size) {
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new NoSuchElementException("Room not found"));
+        String hash = room.getRoomPhotoHash();
+        Path original = roomPhotoStorage.find(hash)
+                .orElseThrow(() -> new NoSuchElementException("Room photo not found"));
+
+        if (size != RoomPhotoVariants.Size.FULL) {
+            Optional<Path> variant = roomPhotoVariants.find(hash, size);
+            if (variant.isPresent()) {
+                String variantTag = hash + "-" + size.name().toLowerCase(Locale.ROOT);
+                return new RoomPhoto(variantTag, roomPhotoVariants.contentType(), variant.get(), true);
+            }
+            // Todavía no está generada: se sirve el original (sin cache largo) y se encarga
+            roomPhotoVariants.generate(hash);
+            return new RoomPhoto(hash, room.getRoomPhotoContentType(), original, false);
+        }
+        return new RoomPhoto(hash, room.getRoomPhotoContentType(), original, true);
     }
 
     public List<RoomDto> getAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
-        List<Room> availableRooms = roomRepository.findAvailableRoomsByDatesAndType(checkInDate, checkOutDate, roomType);
-        return availableRooms.stream().map(this::convertToDto).collect(Collectors.toList());
+        List<Long> roomIds = availabilityEngine.findAvailableRoomIds(checkInDate, checkOutDate, roomType);
+
+        // Las habitaciones ya cacheadas no se consultan; solo se busca en la base lo que falta
+        long generation = catalogCache.generation();
+        Map<Long, RoomDto> rooms = new HashMap<>(catalogCache.presentRooms(roomIds));
+        List<Long> missing = roomIds.stream().filter(id -> !rooms.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            for (Room room : roomRepository.findAllById(missing)) {
+                RoomDto dto = convertToDto(room);
+                catalogCache.putRoom(dto, generation);
+                rooms.put(dto.getId(), dto);
+            }
+        }
+        return roomIds.stream()
+                .map(rooms::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    public List<RoomSummaryDto> getAvailableRoomSummaries(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
+        List<Long> roomIds = availabilityEngine.findAvailableRoomIds(checkInDate, checkOutDate, roomType);
+        return roomIds.isEmpty() ? List.of() : roomRepository.findSummariesByIdIn(roomIds);
+    }
+
+    public RoomCalendarDto getRoomCalendar(Long roomId, LocalDate from, LocalDate to) {
+        validateCalendarWindow(from, to);
+        return availabilityEngine.calendar(roomId, from, to);
+    }
+
+    public List<RoomCalendarDto> getRoomCalendars(LocalDate from, LocalDate to, String roomType) {
+        validateCalendarWindow(from, to);
+        return availabilityEngine.calendars(from, to, roomType);
     }
 
-    private RoomDto convertToDto(Room room) {
+    private static void validateCalendarWindow(LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        if (from.plusDays(MAX_CALENDAR_NIGHTS).isBefore(to)) {
+            throw new IllegalArgumentException("Calendar range cannot exceed " + MAX_CALENDAR_NIGHTS + " nights");
+        }
+    }
+
+    private void storePhoto(Room room, MultipartFile photo) throws IOException {
+        // El tipo lo decide RoomPhotoStorage a partir de los bytes; el Content-Type del cliente no se usa
+        try (InputStream in = photo.getInputStream()) {
+            RoomPhotoStorage.StoredPhoto stored = roomPhotoStorage.store(in);
+            room.setRoomPhotoHash(stored.hash());
+            room.setRoomPhotoContentType(stored.contentType());
+            room.setRoomPhotoSize(stored.size());
+        }
+        roomPhotoVariants.generate(room.getRoomPhotoHash());
+    }
+
+    // Tipos escritos con otras mayúsculas o espacios se asignan al tipo existente
+    private void setType(Room room, String roomType) {
+        String name = roomType == null ? "" : roomType.trim();
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Room type is required");
+        }
+        RoomType type = roomTypeRepository.findOrCreate(name);
+        room.setType(type);
+        room.setRoomType(type.getName());
+    }
+
+    // package-private: lo mide el benchmark de JMH (src/jmh/java)
+    RoomDto convertToDto(Room room) {
         RoomDto dto = new RoomDto();
         dto.setId(room.getId());
         dto.setRoomType(room.getRoomType());
         dto.setRoomPrice(room.getRoomPrice());
-        dto.setRoomPhotoUrl(room.getRoomPhotoUrl());
+        dto.setRoomPhotoUrl(RoomPhotoStorage.photoUrl(room.getId(), room.getRoomPhotoHash()));
         dto.setRoomDescription(room.getRoomDescription());
         return dto;
     }
+
+    // immutable=false cuando se sirve el original en lugar de una versión que aún no existe
+    public record RoomPhoto(String etag, String contentType, Path path, boolean immutable) {
+    }
 }
\ No newline at end of file
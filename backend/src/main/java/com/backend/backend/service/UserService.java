@@ -1,31 +1,88 @@
 package com.backend.backend.service;
 
+import com.backend.backend.availability.AvailabilityEngine;
+import com.backend.backend.availability.BookedInterval;
 import com.backend.backend.entity.User;
+import com.backend.backend.repository.BookingRepository;
 import com.backend.backend.repository.UserRepository;
+import com.backend.backend.response.CursorPage;
+import com.backend.backend.security.UserDetailsCache;
+import com.backend.backend.transaction.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
 
 @Service
 public class UserService {
 
+    // Roles que entiende SecurityConfig; cualquier otro dejaría al usuario sin permisos reconocibles
+    private static final List<String> ROLES = List.of("ROLE_USER", "ROLE_ADMIN");
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private AvailabilityEngine availabilityEngine;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    public CursorPage<User> getUsersPage(String cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.decodeCursor(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(users, pageSize, User::getId);
+    }
+
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con email: " + email));
+                .orElseThrow(() -> new NoSuchElementException("Usuario no encontrado con email: " + email));
     }
 
+    @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("Usuario no encontrado con id: " + id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Usuario no encontrado con id: " + id));
+
+        // Las reservas del usuario se borran en cascada: se liberan también en el motor de disponibilidad
+        for (BookedInterval booking : bookingRepository.findBookedIntervalsByUserId(id)) {
+            availabilityEngine.bookingCancelled(booking.bookingId(), booking.roomId());
+        }
+
+        userRepository.delete(user);
+        // Después del commit: antes, un request concurrente podría volver a cachear al usuario todavía sin borrar
+        String email = user.getEmail();
+        TransactionCallbacks.afterCommit(() -> userDetailsCache.invalidate(email));
+    }
+
+    @Transactional
+    public User updateUserRole(Long id, String role) {
+        if (role == null || role.isBlank()) {
+            throw new IllegalArgumentException("Role is required");
         }
-        userRepository.deleteById(id);
+        String normalized = role.trim().toUpperCase(Locale.ROOT);
+        normalized = normalized.startsWith("ROLE_") ? normalized : "ROLE_" + normalized;
+        if (!ROLES.contains(normalized)) {
+            throw new IllegalArgumentException("Invalid role: " + role + " (allowed: " + String.join(", ", ROLES) + ")");
+        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Usuario no encontrado con id: " + id));
+
+        user.setRole(normalized);
+        User savedUser = userRepository.save(user);
+        String email = savedUser.getEmail();
+        TransactionCallbacks.afterCommit(() -> userDetailsCache.invalidate(email));
+        return savedUser;
     }
-}
\ No newline at end of file
+}
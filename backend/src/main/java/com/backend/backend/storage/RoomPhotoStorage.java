@@ -0,0 +1,145 @@
+package com.backend.backend.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Almacenamiento de fotos de habitaciones en disco, direccionado por contenido:
+ * cada archivo se guarda como {@code <dir>/<2 primeros hex>/<sha256>}, por lo que
+ * subir dos veces la misma imagen no duplica bytes y el hash sirve como ETag.
+ * El tipo se detecta por la firma del archivo (no por el Content-Type que manda el
+ * cliente) y solo se aceptan JPEG, PNG y WebP: nada de SVG ni HTML servidos como foto.
+ */
+@Service
+public class RoomPhotoStorage {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    // Bytes necesarios para reconocer el formato (WebP es el más largo: RIFF + tamaño + WEBP)
+    private static final int SIGNATURE_LENGTH = 12;
+
+    @Value("${room.photos.dir}")
+    private String photosDir;
+
+    private Path root;
+    private Path tmpDir;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(photosDir).toAbsolutePath().normalize();
+        tmpDir = root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+    }
+
+    public StoredPhoto store(InputStream content) throws IOException {
+        InputStream buffered = new BufferedInputStream(content);
+        buffered.mark(SIGNATURE_LENGTH);
+        String contentType = detectContentType(buffered.readNBytes(SIGNATURE_LENGTH));
+        buffered.reset();
+        if (contentType == null) {
+            throw new IllegalArgumentException("Photo must be a JPEG, PNG or WebP image");
+        }
+
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        MessageDigest digest = sha256();
+        long size;
+        // Se copia por bloques mientras se calcula el hash: el archivo nunca se carga entero en memoria
+        try (InputStream in = new DigestInputStream(buffered, digest)) {
+            size = Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        Path target = pathFor(hash);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(tmp);
+        } else {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        return new StoredPhoto(hash, contentType, size);
+    }
+
+    // Firmas: JPEG FF D8 FF, PNG 89 'PNG' 0D 0A 1A 0A, WebP 'RIFF' <tamaño> 'WEBP'
+    static String detectContentType(byte[] header) {
+        if (startsWith(header, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(header, 0, 'R', 'I', 'F', 'F') && startsWith(header, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int offset, int... signature) {
+        if (header.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // Carpeta de las versiones redimensionadas (RoomPhotoVariants), fuera del árbol de originales
+    Path variantsDir() {
+        return root.resolve("variants");
+    }
+
+    public static String photoUrl(Long roomId, String hash) {
+        if (hash == null) {
+            return null;
+        }
+        return "/api/rooms/" + roomId + "/photo?v=" + hash.substring(0, 16);
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record StoredPhoto(String hash, String contentType, long size) {
+    }
+}
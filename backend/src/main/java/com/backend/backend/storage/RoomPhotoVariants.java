@@ -0,0 +1,244 @@
+package com.backend.backend.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Versiones reducidas de las fotos (thumb y medium) generadas en segundo plano.
+ * RoomService las encarga al guardar una foto; se procesan en un pool chico y
+ * acotado y quedan en disco junto a los originales, nombradas por el hash del
+ * original. Si una versión todavía no existe se sirve el original y se encarga.
+ *
+ * Se codifican en WebP si hay un writer de ImageIO para ese formato en el classpath;
+ * si no, en JPEG (el JDK no trae WebP).
+ */
+@Service
+public class RoomPhotoVariants {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomPhotoVariants.class);
+
+    // Límite para no decodificar imágenes gigantes (una foto de 40 MP ya ocupa 160 MB descomprimida)
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    public enum Size {
+        THUMB(320, 0.75f),
+        MEDIUM(960, 0.8f),
+        FULL(0, 1f);
+
+        private final int maxWidth;
+        private final float quality;
+
+        Size(int maxWidth, float quality) {
+            this.maxWidth = maxWidth;
+            this.quality = quality;
+        }
+
+        public static Size parse(String value) {
+            if (value == null || value.isBlank()) {
+                return FULL;
+            }
+            try {
+                return Size.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid photo size: " + value + " (thumb, medium or full)");
+            }
+        }
+    }
+
+    @Autowired
+    private RoomPhotoStorage storage;
+
+    private final String format;
+    private final String contentType;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public RoomPhotoVariants(@Value("${room.photos.variants.threads:2}") int threads,
+                             @Value("${room.photos.variants.queue-capacity:100}") int queueCapacity) {
+        boolean webp = ImageIO.getImageWritersByFormatName("webp").hasNext();
+        this.format = webp ? "webp" : "jpeg";
+        this.contentType = webp ? "image/webp" : "image/jpeg";
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "photo-variants-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Encarga las versiones de una foto; si la cola está llena se generarán cuando alguien las pida. */
+    public void generate(String hash) {
+        if (hash == null || !pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    for (Size size : Size.values()) {
+                        if (size != Size.FULL) {
+                            writeVariant(hash, size);
+                        }
+                    }
+                } catch (Exception e) {
+                    log.warn("Could not generate variants for photo {}: {}", hash, e.getMessage());
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+        }
+    }
+
+    /** La versión pedida si ya está generada; FULL nunca tiene versión aparte. */
+    public Optional<Path> find(String hash, Size size) {
+        if (size == Size.FULL || storage.find(hash).isEmpty()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash, size);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void writeVariant(String hash, Size size) throws IOException {
+        Path target = pathFor(hash, size);
+        if (Files.exists(target)) {
+            return;
+        }
+        Path original = storage.find(hash).orElseThrow(() -> new IOException("Original photo not found"));
+        BufferedImage source = read(original);
+        if (source == null) {
+            throw new IOException("Unsupported image format");
+        }
+
+        BufferedImage resized = resize(source, size.maxWidth);
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), "variant-", ".part");
+        try {
+            write(resized, tmp, size.quality);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static BufferedImage read(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IOException("Image too large to resize");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Reduce a la mitad mientras sobre más del doble: mejor calidad que un solo salto bilineal
+    private static BufferedImage resize(BufferedImage source, int maxWidth) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int targetWidth = Math.min(width, maxWidth);
+        int targetHeight = Math.max(1, (int) Math.round((double) height * targetWidth / width));
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = currentWidth == targetWidth ? targetHeight : Math.max(targetHeight, currentHeight / 2);
+            // Lienzo RGB con fondo blanco: JPEG no tiene transparencia
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, currentWidth, currentHeight);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (currentWidth > targetWidth);
+        return current;
+    }
+
+    private void write(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Path pathFor(String hash, Size size) {
+        return storage.variantsDir()
+                .resolve(hash.substring(0, 2))
+                .resolve(hash + "-" + size.name().toLowerCase(Locale.ROOT) + "." + format);
+    }
+}
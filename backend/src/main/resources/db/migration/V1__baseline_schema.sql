@@ -0,0 +1,39 @@
+-- Esquema base, equivalente al que generaba ddl-auto=update.
+-- Es idempotente: en bases existentes solo agrega lo que falte.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS rooms (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_type        VARCHAR(255)   NOT NULL,
+    room_price       NUMERIC(38, 2) NOT NULL,
+    room_description VARCHAR(255)   NOT NULL
+);
+
+ALTER TABLE rooms ADD COLUMN IF NOT EXISTS room_photo_hash VARCHAR(64);
+ALTER TABLE rooms ADD COLUMN IF NOT EXISTS room_photo_content_type VARCHAR(100);
+ALTER TABLE rooms ADD COLUMN IF NOT EXISTS room_photo_size BIGINT;
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id                        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    check_in_date             DATE         NOT NULL,
+    check_out_date            DATE         NOT NULL,
+    guest_full_name           VARCHAR(255) NOT NULL,
+    guest_email               VARCHAR(255) NOT NULL,
+    num_of_adults             INTEGER      NOT NULL,
+    num_of_children           INTEGER      NOT NULL,
+    total_num_of_guests       INTEGER      NOT NULL,
+    booking_confirmation_code VARCHAR(255) NOT NULL,
+    room_id                   BIGINT REFERENCES rooms (id),
+    user_id                   BIGINT REFERENCES users (id),
+    CONSTRAINT uk_bookings_confirmation_code UNIQUE (booking_confirmation_code)
+);
@@ -0,0 +1,17 @@
+-- Índices para las consultas de BookingRepository y RoomRepository.
+
+-- Solapamiento por habitación: room_id = ? AND check_out_date > :entrada AND check_in_date < :salida.
+-- check_out_date va segundo porque descarta primero las reservas ya terminadas.
+CREATE INDEX IF NOT EXISTS idx_bookings_room_stay
+    ON bookings (room_id, check_out_date, check_in_date);
+
+-- findByUserId / findByUserEmail (vía users.email, que ya es único) y el borrado en cascada de usuarios
+CREATE INDEX IF NOT EXISTS idx_bookings_user
+    ON bookings (user_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_guest_email
+    ON bookings (guest_email);
+
+-- Filtro por tipo y findDistinctRoomTypes
+CREATE INDEX IF NOT EXISTS idx_rooms_room_type
+    ON rooms (room_type);
@@ -0,0 +1,27 @@
+-- Red de seguridad contra reservas superpuestas de la misma habitación cuando corre más de
+-- una instancia del backend (dentro de una instancia ya lo evita RoomLocks en BookingService).
+-- Se aplica solo si btree_gist está disponible y los datos existentes no tienen solapamientos;
+-- si no, se deja un aviso y la migración sigue.
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+    IF EXISTS (
+        SELECT 1
+        FROM bookings a
+        JOIN bookings b ON a.room_id = b.room_id
+            AND a.id < b.id
+            AND a.check_in_date < b.check_out_date
+            AND b.check_in_date < a.check_out_date
+    ) THEN
+        RAISE WARNING 'bookings has overlapping stays; ex_bookings_room_stay not created';
+    ELSE
+        ALTER TABLE bookings
+            ADD CONSTRAINT ex_bookings_room_stay
+            EXCLUDE USING gist (room_id WITH =, daterange(check_in_date, check_out_date, '[)') WITH &&);
+    END IF;
+EXCEPTION
+    WHEN insufficient_privilege OR undefined_file THEN
+        RAISE WARNING 'btree_gist extension not available; ex_bookings_room_stay not created';
+END
+$$;
@@ -0,0 +1,13 @@
+-- Ids de reservas desde una secuencia que Hibernate reserva de a 50 (optimizador pooled),
+-- para poder insertar reservas en batch.
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+-- pooled usa el valor devuelto como techo del bloque: se arranca 50 por encima del máximo actual
+SELECT setval('bookings_seq', COALESCE((SELECT MAX(id) FROM bookings), 0) + 50, false);
+
+-- Un INSERT sin id (SQL a mano, scripts) también toma de bookings_seq: con el contador IDENTITY
+-- de V1 esos ids caerían dentro de los bloques que Hibernate ya repartió. El valor que devuelve
+-- nextval es el techo de un bloque que Hibernate no usa, así que no choca con la aplicación.
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+ALTER SEQUENCE bookings_seq OWNED BY bookings.id;
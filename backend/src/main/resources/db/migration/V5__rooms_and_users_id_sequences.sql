@@ -0,0 +1,14 @@
+-- Igual que bookings_seq (V4): ids de habitaciones y usuarios desde secuencias pooled de a 50,
+-- así Hibernate puede agrupar los INSERT en batch. El default de cada columna pasa a ser su
+-- secuencia (no el contador IDENTITY de V1) para que un INSERT sin id no choque con los bloques.
+CREATE SEQUENCE IF NOT EXISTS rooms_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('rooms_seq', COALESCE((SELECT MAX(id) FROM rooms), 0) + 50, false);
+ALTER TABLE rooms ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE rooms ALTER COLUMN id SET DEFAULT nextval('rooms_seq');
+ALTER SEQUENCE rooms_seq OWNED BY rooms.id;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
@@ -0,0 +1,53 @@
+-- Dimensión de tipos de habitación: el filtro por tipo pasa a ser una igualdad sobre
+-- room_type_id (antes LIKE '%tipo%', que no usa índices y mezclaba tipos parecidos)
+-- y /api/rooms/types lee esta tabla en lugar de un DISTINCT sobre rooms.
+-- rooms.room_type se conserva con el nombre del tipo para listados y proyecciones.
+CREATE TABLE IF NOT EXISTS room_types (
+    id   BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+
+-- Único sin distinguir mayúsculas: "Suite" y "suite" son el mismo tipo.
+-- RoomTypeRepository.findOrCreate se apoya en este índice para el INSERT ... ON CONFLICT DO NOTHING
+CREATE UNIQUE INDEX IF NOT EXISTS uk_room_types_name_lower
+    ON room_types (lower(name));
+
+-- Un tipo por nombre normalizado (sin espacios y sin distinguir mayúsculas); se queda la
+-- primera grafía en orden alfabético
+INSERT INTO room_types (id, name)
+SELECT ROW_NUMBER() OVER (ORDER BY name), name
+FROM (
+    SELECT DISTINCT ON (lower(trim(room_type))) trim(room_type) AS name
+    FROM rooms
+    WHERE room_type IS NOT NULL
+    ORDER BY lower(trim(room_type)), trim(room_type)
+) existing
+ON CONFLICT DO NOTHING;
+
+-- Pooled de a 50 como rooms_seq (V5)
+CREATE SEQUENCE IF NOT EXISTS room_types_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('room_types_seq', COALESCE((SELECT MAX(id) FROM room_types), 0) + 50, false);
+
+ALTER TABLE rooms ADD COLUMN IF NOT EXISTS room_type_id BIGINT REFERENCES room_types (id);
+-- rooms.room_type queda con la grafía del tipo, igual que hace RoomService.setType
+UPDATE rooms r SET room_type_id = t.id, room_type = t.name
+FROM room_types t
+WHERE lower(t.name) = lower(trim(r.room_type)) AND r.room_type_id IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_rooms_room_type_id
+    ON rooms (room_type_id);
+
+-- Búsqueda libre por tipo y descripción (RoomRepository.searchIds): el índice GIN de trigramas
+-- sirve tanto para ILIKE '%texto%' como para el operador de similitud de palabras <%.
+-- Como en V3, si pg_trgm no está disponible se deja un aviso y la migración sigue;
+-- RoomService cae entonces a una búsqueda solo por subcadena (searchIdsBySubstring)
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    CREATE INDEX IF NOT EXISTS idx_rooms_search_trgm
+        ON rooms USING gin ((room_type || ' ' || room_description) gin_trgm_ops);
+EXCEPTION
+    WHEN insufficient_privilege OR undefined_file THEN
+        RAISE WARNING 'pg_trgm extension not available; idx_rooms_search_trgm not created';
+END
+$$;
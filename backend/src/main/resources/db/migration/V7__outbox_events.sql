@@ -0,0 +1,21 @@
+-- Outbox transaccional: eventos escritos en la misma transacción que la reserva y
+-- publicados en segundo plano por OutboxDispatcher.
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id              BIGINT PRIMARY KEY,
+    aggregate_type  VARCHAR(50)  NOT NULL,
+    aggregate_id    BIGINT       NOT NULL,
+    event_type      VARCHAR(100) NOT NULL,
+    payload         TEXT         NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    processed_at    TIMESTAMP(6),
+    last_error      VARCHAR(1000)
+);
+
+-- El dispatcher solo mira los pendientes: el índice parcial no crece con los ya publicados
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending
+    ON outbox_events (next_attempt_at, id)
+    WHERE processed_at IS NULL;
@@ -0,0 +1,17 @@
+-- Eventos del outbox que agotaron los reintentos: quedan marcados en lugar de seguir
+-- como pendientes para siempre, y salen del índice de pendientes.
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS dead_at TIMESTAMP(6);
+
+DROP INDEX IF EXISTS idx_outbox_events_pending;
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending
+    ON outbox_events (next_attempt_at, id)
+    WHERE processed_at IS NULL AND dead_at IS NULL;
+
+-- Sin backfill: el máximo de intentos es configurable (outbox.dispatcher.max-attempts) y la
+-- migración no lo conoce. Los que ya lo superaban se reintentan una vez más y, si vuelven a
+-- fallar, OutboxDispatcher los marca muertos con el máximo vigente.
+
+-- Para revisar y reprocesar los muertos
+CREATE INDEX IF NOT EXISTS idx_outbox_events_dead
+    ON outbox_events (dead_at)
+    WHERE dead_at IS NOT NULL;
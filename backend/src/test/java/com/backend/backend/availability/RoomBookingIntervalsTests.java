@@ -0,0 +1,36 @@
+package com.backend.backend.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomBookingIntervalsTests {
+
+    @Test
+    void bookedRunsMergesContiguousAndOverlappingBookings() {
+        RoomBookingIntervals intervals = RoomBookingIntervals.EMPTY
+                .with(1, 10, 13)
+                .with(2, 13, 15)   // contigua: mismo tramo
+                .with(3, 20, 30)
+                .with(4, 22, 25);  // superpuesta (datos históricos)
+
+        assertThat(runs(intervals, 0, 40)).containsExactly("10+5", "20+10");
+    }
+
+    @Test
+    void bookedRunsAreClippedToTheWindowAndRelativeToFrom() {
+        RoomBookingIntervals intervals = RoomBookingIntervals.EMPTY
+                .with(1, 5, 50)
+                .with(2, 60, 62);
+
+        assertThat(runs(intervals, 40, 61)).containsExactly("0+10", "20+1");
+        assertThat(runs(intervals, 50, 60)).isEmpty();
+        assertThat(runs(intervals.without(1), 40, 61)).containsExactly("20+1");
+    }
+
+    private static List<String> runs(RoomBookingIntervals intervals, long from, long to) {
+        return intervals.bookedRuns(from, to).stream().map(run -> run[0] + "+" + run[1]).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.backend.backend.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencias por endpoint de un hilo de carga. Cada hilo usa el suyo (sin contención)
+ * y al final se juntan con addAll para calcular percentiles y throughput.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> byEndpoint = new TreeMap<>();
+
+    void record(String endpoint, int status, long nanos) {
+        byEndpoint.computeIfAbsent(endpoint, e -> new Samples()).add(status, nanos);
+    }
+
+    void addAll(LatencyRecorder other) {
+        other.byEndpoint.forEach((endpoint, samples) ->
+                byEndpoint.computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+    }
+
+    long totalRequests() {
+        return byEndpoint.values().stream().mapToLong(s -> s.size).sum();
+    }
+
+    /** Cantidad de respuestas 5xx que no son un rechazo controlado por saturación (503). */
+    long serverErrors() {
+        return byEndpoint.values().stream()
+                .flatMap(s -> s.statuses.entrySet().stream())
+                .filter(e -> e.getKey() >= 500 && e.getKey() != 503)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    String report(double seconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-28s %9s %10s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "status codes"));
+        byEndpoint.forEach((endpoint, samples) -> {
+            long[] sorted = samples.sorted();
+            out.append(String.format(Locale.ROOT, "%-28s %9d %10.1f %9.2f %9.2f %9.2f  %s%n",
+                    endpoint, samples.size, samples.size / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]), samples.statuses));
+        });
+        return out.toString();
+    }
+
+    void writeCsv(Path file, double seconds) throws IOException {
+        StringBuilder csv = new StringBuilder("endpoint,requests,throughput_rps,p50_ms,p99_ms,max_ms\n");
+        byEndpoint.forEach((endpoint, samples) -> {
+            long[] sorted = samples.sorted();
+            csv.append(String.format(Locale.ROOT, "%s,%d,%.1f,%.3f,%.3f,%.3f%n",
+                    endpoint, samples.size, samples.size / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+        });
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, csv);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        void add(int status, long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            statuses.merge(status, 1L, Long::sum);
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = other.values[i];
+            }
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.backend.backend.load;
+
+import com.backend.backend.availability.AvailabilityEngine;
+import com.backend.backend.entity.Booking;
+import com.backend.backend.entity.Room;
+import com.backend.backend.entity.User;
+import com.backend.backend.repository.BookingRepository;
+import com.backend.backend.repository.RoomRepository;
+import com.backend.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga mixta sobre HTTP real contra la aplicación completa (H2 en modo PostgreSQL):
+ * búsquedas de disponibilidad, logins y reservas a la vez. Deja el resumen de
+ * p50/p99/throughput por endpoint en target/load-test/.
+ *
+ * Solo corre con el perfil loadtest: ./mvnw -Ploadtest test
+ * Se ajusta con -Dloadtest.threads, -Dloadtest.duration-seconds, -Dloadtest.warmup-seconds,
+ * -Dloadtest.rooms, -Dloadtest.users y -Dloadtest.bookings-per-room.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MixedWorkloadLoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final String[] ROOM_TYPES = {"Standard", "Suite", "Family", "Deluxe"};
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final int threads = Integer.getInteger("loadtest.threads", 16);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private final int roomCount = Integer.getInteger("loadtest.rooms", 300);
+    private final int userCount = Integer.getInteger("loadtest.users", 100);
+    private final int bookingsPerRoom = Integer.getInteger("loadtest.bookings-per-room", 20);
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AvailabilityEngine availabilityEngine;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAllInBatch();
+        roomRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        List<Long> roomIds = seedRooms();
+        List<String> emails = seedUsers();
+        seedBookings(roomIds);
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+        AtomicLong transportErrors = new AtomicLong();
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        List<Future<LatencyRecorder>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int worker = i;
+            futures.add(workers.submit(() -> runWorker(worker, emails.get(worker % emails.size()), roomIds,
+                    warmupEnd, end, transportErrors)));
+        }
+
+        LatencyRecorder total = new LatencyRecorder();
+        for (Future<LatencyRecorder> future : futures) {
+            total.addAll(future.get(durationSeconds + warmupSeconds + 60L, TimeUnit.SECONDS));
+        }
+        workers.shutdown();
+
+        String report = "Threads: " + threads + ", duration: " + durationSeconds + "s (+" + warmupSeconds + "s warmup), "
+                + "rooms: " + roomCount + ", users: " + userCount + ", bookings: " + roomCount * bookingsPerRoom
+                + System.lineSeparator() + total.report(durationSeconds);
+        Path outputDir = Path.of("target", "load-test");
+        Files.createDirectories(outputDir);
+        Files.writeString(outputDir.resolve("report.txt"), report);
+        total.writeCsv(outputDir.resolve("report.csv"), durationSeconds);
+
+        assertThat(total.totalRequests()).isPositive();
+        assertThat(total.serverErrors()).isZero();
+        assertThat(transportErrors.get()).isZero();
+    }
+
+    // 70% búsquedas de disponibilidad, 10% logins, 20% reservas
+    private LatencyRecorder runWorker(int worker, String email, List<Long> roomIds, long warmupEnd, long end,
+                                      AtomicLong transportErrors) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        Random random = new Random(worker);
+        String token = login(email);
+
+        while (System.nanoTime() < end) {
+            int dice = random.nextInt(100);
+            LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(180));
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(7));
+            String endpoint;
+            HttpRequest request;
+            if (dice < 70) {
+                endpoint = "GET /api/rooms/available";
+                request = HttpRequest.newBuilder(uri("/api/rooms/available?checkInDate=" + checkIn
+                        + "&checkOutDate=" + checkOut + "&roomType=" + ROOM_TYPES[random.nextInt(ROOM_TYPES.length)]))
+                        .GET().build();
+            } else if (dice < 80) {
+                endpoint = "POST /api/auth/login";
+                request = loginRequest(email);
+            } else {
+                endpoint = "POST /api/bookings/room/{id}";
+                Long roomId = roomIds.get(random.nextInt(roomIds.size()));
+                request = HttpRequest.newBuilder(uri("/api/bookings/room/" + roomId))
+                        .header("Content-Type", "application/json")
+                        .header("Authorization", "Bearer " + token)
+                        .POST(HttpRequest.BodyPublishers.ofString("""
+                                {"checkInDate":"%s","checkOutDate":"%s","guestFullName":"Load Guest",
+                                 "guestEmail":"%s","numOfAdults":2,"numOfChildren":0}""".formatted(checkIn, checkOut, email)))
+                        .build();
+            }
+
+            long started = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (started >= warmupEnd) {
+                    recorder.record(endpoint, response.statusCode(), System.nanoTime() - started);
+                }
+            } catch (Exception e) {
+                transportErrors.incrementAndGet();
+            }
+        }
+        return recorder;
+    }
+
+    private String login(String email) {
+        try {
+            HttpResponse<String> response = client.send(loginRequest(email), HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = TOKEN.matcher(response.body());
+            if (!matcher.find()) {
+                throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode());
+            }
+            return matcher.group(1);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest loginRequest(String email) {
+        return HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private List<Long> seedRooms() {
+        List<Room> rooms = new ArrayList<>(roomCount);
+        for (int i = 0; i < roomCount; i++) {
+            Room room = new Room();
+            room.setRoomType(ROOM_TYPES[i % ROOM_TYPES.length]);
+            room.setRoomPrice(new BigDecimal(80 + (i % 5) * 40 + ".00"));
+            room.setRoomDescription("Load test room " + i);
+            room.setRoomPhotoHash("%064x".formatted(i));
+            rooms.add(room);
+        }
+        List<Long> ids = new ArrayList<>(roomCount);
+        for (Room room : roomRepository.saveAll(rooms)) {
+            availabilityEngine.roomSaved(room.getId(), room.getRoomType());
+            ids.add(room.getId());
+        }
+        return ids;
+    }
+
+    // Todos comparten el mismo hash: un solo BCrypt al sembrar, pero cada login lo verifica completo
+    private List<String> seedUsers() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setEmail("guest" + i + "@load.delrio.test");
+            user.setPassword(hash);
+            user.setFirstName("Guest");
+            user.setLastName(String.valueOf(i));
+            users.add(user);
+        }
+        return userRepository.saveAll(users).stream().map(User::getEmail).toList();
+    }
+
+    // Estadías de 1 a 5 noches en los próximos meses, sin solaparse dentro de cada habitación
+    private void seedBookings(List<Long> roomIds) {
+        Random random = new Random(42);
+        List<Booking> bookings = new ArrayList<>(roomIds.size() * bookingsPerRoom);
+        for (Room room : roomRepository.findAllById(roomIds)) {
+            LocalDate next = LocalDate.now().plusDays(1);
+            for (int i = 0; i < bookingsPerRoom; i++) {
+                LocalDate checkIn = next.plusDays(random.nextInt(6));
+                LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(5));
+                Booking booking = new Booking();
+                booking.setCheckInDate(checkIn);
+                booking.setCheckOutDate(checkOut);
+                booking.setGuestFullName("Seeded Guest");
+                booking.setGuestEmail("seed@load.delrio.test");
+                booking.setNumOfAdults(2);
+                booking.setNumOfChildren(0);
+                booking.calculateTotalNumberOfGuests();
+                booking.setBookingConfirmationCode(UUID.randomUUID().toString());
+                booking.setRoom(room);
+                bookings.add(booking);
+                next = checkOut;
+            }
+        }
+        for (Booking booking : bookingRepository.saveAll(bookings)) {
+            availabilityEngine.bookingSaved(booking.getId(), booking.getRoom().getId(),
+                    booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.backend.backend.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Corre las migraciones de db/migration sobre PostgreSQL: primero hasta V5 con datos como los
+ * de producción y después hasta la última, para comprobar los backfills y las restricciones.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTests {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Test
+    void migratesExistingDataUpToTheLatestVersion() throws SQLException {
+        flyway("5").migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                    INSERT INTO rooms (room_type, room_price, room_description)
+                    VALUES ('Suite', 200.00, 'Suite 1'), ('Standard', 100.00, 'Standard 1'), ('Suite', 210.00, 'Suite 2')
+                    """);
+        }
+
+        flyway(null).migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // V6: un room_type por nombre distinto y todas las habitaciones enlazadas
+            assertThat(count(statement, "SELECT COUNT(*) FROM room_types")).isEqualTo(2);
+            assertThat(count(statement, "SELECT COUNT(*) FROM rooms WHERE room_type_id IS NULL")).isZero();
+
+            // V3: la restricción de exclusión rechaza estadías superpuestas de la misma habitación
+            long roomId = count(statement, "SELECT MIN(id) FROM rooms");
+            statement.executeUpdate(booking(roomId, "2026-03-01", "2026-03-04", "A-1"));
+            statement.executeUpdate(booking(roomId, "2026-03-04", "2026-03-06", "A-2"));
+            assertThatThrownBy(() -> statement.executeUpdate(booking(roomId, "2026-03-03", "2026-03-05", "A-3")))
+                    .isInstanceOfSatisfying(SQLException.class,
+                            e -> assertThat(e.getSQLState()).isEqualTo("23P01"));
+
+            // V7 y V8: outbox con columna de descartados
+            assertThat(count(statement, "SELECT COUNT(*) FROM outbox_events WHERE dead_at IS NOT NULL")).isZero();
+        }
+    }
+
+    private static Flyway flyway(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String booking(long roomId, String checkIn, String checkOut, String code) {
+        return """
+                INSERT INTO bookings (check_in_date, check_out_date, guest_full_name, guest_email,
+                                      num_of_adults, num_of_children, total_num_of_guests,
+                                      booking_confirmation_code, room_id)
+                VALUES ('%s', '%s', 'Migration Guest', 'guest@delrio.test', 2, 0, 2, '%s', %d)
+                """.formatted(checkIn, checkOut, code, roomId);
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.backend.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arranca la aplicación sobre PostgreSQL con la configuración de producción para el esquema:
+ * Flyway aplica las migraciones y Hibernate valida las entidades contra ellas (tablas, columnas y secuencias).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresSchemaValidationTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void migrationsMatchTheEntities() {
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+}
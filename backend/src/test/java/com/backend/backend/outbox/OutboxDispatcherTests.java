@@ -0,0 +1,216 @@
+package com.backend.backend.outbox;
+
+import com.backend.backend.entity.OutboxEvent;
+import com.backend.backend.entity.Room;
+import com.backend.backend.entity.User;
+import com.backend.backend.repository.BookingRepository;
+import com.backend.backend.repository.OutboxEventRepository;
+import com.backend.backend.repository.RoomRepository;
+import com.backend.backend.repository.UserRepository;
+import com.backend.backend.request.BookingRequest;
+import com.backend.backend.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// El dispatcher no corre solo en los tests (outbox.dispatcher.enabled=false): se llama a mano
+@SpringBootTest(properties = "outbox.dispatcher.max-attempts=2")
+class OutboxDispatcherTests {
+
+    private static final String GUEST_EMAIL = "guest@delrio.test";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecordingSink recordingSink;
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(30);
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail(GUEST_EMAIL);
+        user.setPassword("not-used");
+        user.setFirstName("Test");
+        user.setLastName("Guest");
+        userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(GUEST_EMAIL, null, List.of()));
+        outboxEventRepository.deleteAll();
+        recordingSink.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        outboxEventRepository.deleteAll();
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void bookingAndEventAreSavedTogether() {
+        Long roomId = saveRoom().getId();
+        String code = bookingService.saveBooking(roomId, request(checkIn, checkIn.plusDays(2)));
+
+        assertThatThrownBy(() -> bookingService.saveBooking(roomId, request(checkIn.plusDays(1), checkIn.plusDays(3))))
+                .isInstanceOf(IllegalStateException.class);
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getEventType()).isEqualTo("BookingCreated");
+        assertThat(events.get(0).getPayload()).contains(code);
+        assertThat(events.get(0).getProcessedAt()).isNull();
+    }
+
+    @Test
+    void dispatcherPublishesPendingEventsAndRetriesFailures() {
+        Long roomId = saveRoom().getId();
+        bookingService.saveBooking(roomId, request(checkIn, checkIn.plusDays(2)));
+        recordingSink.failures.set(1);
+
+        assertThat(outboxDispatcher.dispatchPending()).isEqualTo(1);
+        OutboxEvent failed = outboxEventRepository.findAll().get(0);
+        assertThat(failed.getProcessedAt()).isNull();
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).contains("sink unavailable");
+        // Todavía en espera: la ronda siguiente no lo toma
+        assertThat(outboxDispatcher.dispatchPending()).isZero();
+
+        failed.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(failed);
+        assertThat(outboxDispatcher.dispatchPending()).isEqualTo(1);
+
+        assertThat(outboxEventRepository.findAll().get(0).getProcessedAt()).isNotNull();
+        assertThat(recordingSink.published).extracting(OutboxEvent::getId).containsExactly(failed.getId());
+    }
+
+    @Test
+    void eventsThatExhaustTheirAttemptsAreMarkedDead() {
+        Long roomId = saveRoom().getId();
+        bookingService.saveBooking(roomId, request(checkIn, checkIn.plusDays(2)));
+        recordingSink.failures.set(2);
+
+        outboxDispatcher.dispatchPending();
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(event);
+        outboxDispatcher.dispatchPending();
+
+        OutboxEvent dead = outboxEventRepository.findAll().get(0);
+        assertThat(dead.getAttempts()).isEqualTo(2);
+        assertThat(dead.getDeadAt()).isNotNull();
+        assertThat(dead.getProcessedAt()).isNull();
+        assertThat(outboxEventRepository.countByDeadAtIsNotNull()).isEqualTo(1);
+
+        // Aunque ya venció su espera, un evento muerto no se vuelve a tomar
+        dead.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(dead);
+        assertThat(outboxDispatcher.dispatchPending()).isZero();
+        assertThat(recordingSink.published).isEmpty();
+    }
+
+    @Test
+    void roundThatLostItsLeaseDoesNotOverwriteTheEvent() {
+        Long roomId = saveRoom().getId();
+        bookingService.saveBooking(roomId, request(checkIn, checkIn.plusDays(2)));
+        // Mientras se entrega, el lease "vence" y otra instancia vuelve a tomar el evento
+        LocalDateTime retakenLease = LocalDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.MICROS);
+        recordingSink.duringPublish = event -> {
+            OutboxEvent retaken = outboxEventRepository.findById(event.getId()).orElseThrow();
+            retaken.setNextAttemptAt(retakenLease);
+            outboxEventRepository.save(retaken);
+        };
+
+        assertThat(outboxDispatcher.dispatchPending()).isEqualTo(1);
+
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        assertThat(event.getProcessedAt()).isNull();
+        assertThat(event.getNextAttemptAt()).isEqualTo(retakenLease);
+    }
+
+    private Room saveRoom() {
+        Room room = new Room();
+        room.setRoomType("Standard");
+        room.setRoomPrice(new BigDecimal("100.00"));
+        room.setRoomDescription("Outbox test room");
+        return roomRepository.save(room);
+    }
+
+    private static BookingRequest request(LocalDate checkInDate, LocalDate checkOutDate) {
+        BookingRequest request = new BookingRequest();
+        request.setCheckInDate(checkInDate);
+        request.setCheckOutDate(checkOutDate);
+        request.setGuestFullName("Test Guest");
+        request.setGuestEmail(GUEST_EMAIL);
+        request.setNumOfAdults(2);
+        request.setNumOfChildren(0);
+        return request;
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements OutboxEventSink {
+
+        final List<OutboxEvent> published = new CopyOnWriteArrayList<>();
+        final AtomicInteger failures = new AtomicInteger();
+        volatile Consumer<OutboxEvent> duringPublish = event -> { };
+
+        @Override
+        public void publish(OutboxEvent event) {
+            duringPublish.accept(event);
+            if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            published.add(event);
+        }
+
+        void reset() {
+            published.clear();
+            failures.set(0);
+            duringPublish = event -> { };
+        }
+    }
+}
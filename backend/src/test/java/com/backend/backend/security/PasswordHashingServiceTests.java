@@ -0,0 +1,59 @@
+package com.backend.backend.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTests {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void shutDown() {
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void hashesAndMatchesOnThePool() {
+        service = new PasswordHashingService(4, 2, 4);
+
+        String hash = service.encode("secret");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(service.matches("secret", hash)).isTrue();
+        assertThat(service.matches("other", hash)).isFalse();
+    }
+
+    @Test
+    void requestsRehashWhenConfiguredStrengthChanges() {
+        service = new PasswordHashingService(5, 1, 1);
+
+        assertThat(service.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(service.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+        assertThat(service.upgradeEncoding(service.encode("secret"))).isFalse();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenPoolAndQueueAreFull() throws InterruptedException {
+        // Costo alto para que las dos primeras tareas sigan ocupando el hilo y la cola
+        service = new PasswordHashingService(14, 1, 1);
+        CompletableFuture.runAsync(() -> service.encode("running"));
+        CompletableFuture.runAsync(() -> service.encode("queued"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (service.snapshot().queued() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> service.encode("rejected"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(service.snapshot().rejected()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,166 @@
+package com.backend.backend.service;
+
+import com.backend.backend.entity.Room;
+import com.backend.backend.entity.User;
+import com.backend.backend.repository.BookingRepository;
+import com.backend.backend.repository.RoomRepository;
+import com.backend.backend.repository.UserRepository;
+import com.backend.backend.request.BookingRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingAdmissionConcurrencyTests {
+
+    private static final int THREADS = 16;
+    private static final String GUEST_EMAIL = "load@delrio.test";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        User user = new User();
+        user.setEmail(GUEST_EMAIL);
+        user.setPassword("not-used");
+        user.setFirstName("Load");
+        user.setLastName("Test");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentBookingsForTheSameRoomAndDatesAdmitExactlyOne() throws Exception {
+        Long roomId = saveRoom().getId();
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+
+        List<Boolean> results = runConcurrently(i -> bookingService.saveBooking(roomId, request(checkIn, checkIn.plusDays(3))));
+
+        assertThat(results).filteredOn(admitted -> admitted).hasSize(1);
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void overlappingButNotIdenticalStaysAreAlsoRejected() throws Exception {
+        Long roomId = saveRoom().getId();
+        LocalDate base = LocalDate.now().plusDays(30);
+
+        // Cada hilo pide una estadía de 3 noches corrida un día: todas se pisan con sus vecinas
+        List<Boolean> results = runConcurrently(i -> bookingService.saveBooking(roomId,
+                request(base.plusDays(i), base.plusDays(i + 3))));
+
+        List<LocalDate[]> stays = bookingRepository.findAll().stream()
+                .map(b -> new LocalDate[]{b.getCheckInDate(), b.getCheckOutDate()})
+                .toList();
+        for (int a = 0; a < stays.size(); a++) {
+            for (int b = a + 1; b < stays.size(); b++) {
+                boolean overlap = stays.get(a)[0].isBefore(stays.get(b)[1]) && stays.get(b)[0].isBefore(stays.get(a)[1]);
+                assertThat(overlap).as("double booking between %s and %s", a, b).isFalse();
+            }
+        }
+        assertThat(results).filteredOn(admitted -> admitted).hasSize(stays.size());
+    }
+
+    @Test
+    void bookingsForDifferentRoomsAreAllAdmitted() throws Exception {
+        List<Long> roomIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            roomIds.add(saveRoom().getId());
+        }
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+
+        List<Boolean> results = runConcurrently(i -> bookingService.saveBooking(roomIds.get(i), request(checkIn, checkIn.plusDays(3))));
+
+        assertThat(results).containsOnly(true);
+        assertThat(bookingRepository.count()).isEqualTo(THREADS);
+    }
+
+    private List<Boolean> runConcurrently(BookingCall call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(GUEST_EMAIL, null, List.of()));
+                try {
+                    start.await();
+                    call.book(index);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+        start.countDown();
+
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private Room saveRoom() {
+        Room room = new Room();
+        room.setRoomType("Standard");
+        room.setRoomPrice(new BigDecimal("100.00"));
+        room.setRoomDescription("Concurrency test room");
+        return roomRepository.save(room);
+    }
+
+    private static BookingRequest request(LocalDate checkIn, LocalDate checkOut) {
+        BookingRequest request = new BookingRequest();
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkOut);
+        request.setGuestFullName("Load Test");
+        request.setGuestEmail(GUEST_EMAIL);
+        request.setNumOfAdults(2);
+        request.setNumOfChildren(0);
+        return request;
+    }
+
+    @FunctionalInterface
+    private interface BookingCall {
+        void book(int index) throws Exception;
+    }
+}
@@ -0,0 +1,136 @@
+package com.backend.backend.service;
+
+import com.backend.backend.availability.AvailabilityEngine;
+import com.backend.backend.entity.Room;
+import com.backend.backend.entity.User;
+import com.backend.backend.repository.BookingRepository;
+import com.backend.backend.repository.RoomRepository;
+import com.backend.backend.repository.UserRepository;
+import com.backend.backend.request.BatchBookingItem;
+import com.backend.backend.request.BatchBookingRequest;
+import com.backend.backend.response.BatchBookingResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingBatchTests {
+
+    private static final String OPERATOR_EMAIL = "operator@delrio.test";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(20);
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail(OPERATOR_EMAIL);
+        user.setPassword("not-used");
+        user.setFirstName("Tour");
+        user.setLastName("Operator");
+        userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(OPERATOR_EMAIL, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void partialBatchCreatesTheValidBookingsAndReportsTheRest() {
+        Long first = saveRoom().getId();
+        Long second = saveRoom().getId();
+
+        List<BatchBookingResult> results = bookingService.saveBookings(batch(false,
+                item(first, checkIn, checkIn.plusDays(2)),
+                item(second, checkIn, checkIn.plusDays(2)),
+                item(first, checkIn.plusDays(1), checkIn.plusDays(3)),
+                item(-1L, checkIn, checkIn.plusDays(2))));
+
+        assertThat(results).extracting(BatchBookingResult::getStatus).containsExactly(
+                BatchBookingResult.CREATED, BatchBookingResult.CREATED,
+                BatchBookingResult.REJECTED, BatchBookingResult.REJECTED);
+        assertThat(results.get(0).getBookingConfirmationCode()).isNotBlank();
+        assertThat(bookingRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void atomicBatchSavesNothingWhenOneBookingFails() {
+        Long roomId = saveRoom().getId();
+        bookingService.saveBookings(batch(false, item(roomId, checkIn, checkIn.plusDays(2))));
+
+        List<BatchBookingResult> results = bookingService.saveBookings(batch(true,
+                item(saveRoom().getId(), checkIn, checkIn.plusDays(2)),
+                item(roomId, checkIn.plusDays(1), checkIn.plusDays(4))));
+
+        assertThat(results).extracting(BatchBookingResult::getStatus)
+                .containsExactly(BatchBookingResult.SKIPPED, BatchBookingResult.REJECTED);
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsStaysLongerThanTheMaximum() {
+        Long roomId = saveRoom().getId();
+
+        List<BatchBookingResult> results = bookingService.saveBookings(batch(false,
+                item(roomId, checkIn, checkIn.plusDays(AvailabilityEngine.MAX_STAY_NIGHTS + 1)),
+                item(roomId, checkIn, checkIn)));
+
+        assertThat(results).extracting(BatchBookingResult::getStatus)
+                .containsExactly(BatchBookingResult.REJECTED, BatchBookingResult.REJECTED);
+        assertThat(bookingRepository.count()).isZero();
+    }
+
+    private Room saveRoom() {
+        Room room = new Room();
+        room.setRoomType("Standard");
+        room.setRoomPrice(new BigDecimal("100.00"));
+        room.setRoomDescription("Batch test room");
+        return roomRepository.save(room);
+    }
+
+    private static BatchBookingRequest batch(boolean atomic, BatchBookingItem... items) {
+        BatchBookingRequest request = new BatchBookingRequest();
+        request.setAtomic(atomic);
+        request.setBookings(List.of(items));
+        return request;
+    }
+
+    private static BatchBookingItem item(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        BatchBookingItem item = new BatchBookingItem();
+        item.setRoomId(roomId);
+        item.setCheckInDate(checkInDate);
+        item.setCheckOutDate(checkOutDate);
+        item.setGuestFullName("Group Guest");
+        item.setGuestEmail(OPERATOR_EMAIL);
+        item.setNumOfAdults(2);
+        item.setNumOfChildren(0);
+        return item;
+    }
+}
@@ -0,0 +1,65 @@
+package com.backend.backend.service;
+
+import com.backend.backend.entity.Booking;
+import com.backend.backend.entity.Room;
+import com.backend.backend.repository.BookingRepository;
+import com.backend.backend.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingExportTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void csvExportNeutralizesFormulas() throws IOException {
+        Room room = new Room();
+        room.setRoomType("Standard");
+        room.setRoomPrice(new BigDecimal("100.00"));
+        room.setRoomDescription("Export test room");
+        room = roomRepository.save(room);
+
+        Booking booking = new Booking();
+        booking.setCheckInDate(LocalDate.now().plusDays(5));
+        booking.setCheckOutDate(LocalDate.now().plusDays(7));
+        booking.setGuestFullName("=HYPERLINK(\"http://evil.test\",\"x\")");
+        booking.setGuestEmail("@guest@delrio.test");
+        booking.setNumOfAdults(2);
+        booking.setNumOfChildren(0);
+        booking.calculateTotalNumberOfGuests();
+        booking.setBookingConfirmationCode("EXPORT-1");
+        booking.setRoom(room);
+        bookingRepository.save(booking);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingService.exportBookings("csv", out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://evil.test\"\",\"\"x\"\")\",");
+        assertThat(csv).contains(",'@guest@delrio.test,");
+    }
+}
@@ -0,0 +1,137 @@
+package com.backend.backend.service;
+
+import com.backend.backend.entity.Booking;
+import com.backend.backend.entity.Room;
+import com.backend.backend.entity.User;
+import com.backend.backend.repository.BookingRepository;
+import com.backend.backend.repository.RoomRepository;
+import com.backend.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingServiceQueryCountTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void listingBookingsUsesOneStatementRegardlessOfResultSize() {
+        User user = saveUser("guest@delrio.test");
+
+        saveBookings(user, 1);
+        long withOneBooking = statementsFor(() -> bookingService.getAllBookings());
+
+        saveBookings(user, 25);
+        long withManyBookings = statementsFor(() -> bookingService.getAllBookings());
+
+        assertThat(withOneBooking).isEqualTo(1);
+        assertThat(withManyBookings).isEqualTo(withOneBooking);
+    }
+
+    @Test
+    void listingBookingsByUserUsesOneStatementRegardlessOfResultSize() {
+        User user = saveUser("guest@delrio.test");
+
+        saveBookings(user, 1);
+        long byIdWithOne = statementsFor(() -> bookingService.getBookingsByUserId(user.getId()));
+        long byEmailWithOne = statementsFor(() -> bookingService.getBookingsByEmail(user.getEmail()));
+
+        saveBookings(user, 25);
+        long byIdWithMany = statementsFor(() -> bookingService.getBookingsByUserId(user.getId()));
+        long byEmailWithMany = statementsFor(() -> bookingService.getBookingsByEmail(user.getEmail()));
+
+        assertThat(byIdWithMany).isEqualTo(byIdWithOne).isEqualTo(1);
+        assertThat(byEmailWithMany).isEqualTo(byEmailWithOne).isEqualTo(1);
+    }
+
+    @Test
+    void bulkInsertsAreBatchedInsteadOfOneStatementPerRow() {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Room room = new Room();
+            room.setRoomType("Standard");
+            room.setRoomPrice(new BigDecimal("100.00"));
+            room.setRoomDescription("Bulk room " + i);
+            rooms.add(room);
+        }
+
+        // Con IDENTITY serían 100 INSERT; con secuencia pooled son un par de batches y de nextval
+        long statements = statementsFor(() -> roomRepository.saveAll(rooms));
+
+        assertThat(roomRepository.count()).isEqualTo(100);
+        assertThat(statements).isLessThan(10);
+    }
+
+    private long statementsFor(Runnable call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("not-used");
+        user.setFirstName("Test");
+        user.setLastName("Guest");
+        return userRepository.save(user);
+    }
+
+    // Cada reserva va a una habitación distinta para que un N+1 se note en el conteo
+    private void saveBookings(User user, int count) {
+        for (int i = 0; i < count; i++) {
+            Room room = new Room();
+            room.setRoomType("Standard");
+            room.setRoomPrice(new BigDecimal("100.00"));
+            room.setRoomDescription("Room " + i);
+            room = roomRepository.save(room);
+
+            Booking booking = new Booking();
+            booking.setCheckInDate(LocalDate.now().plusDays(1));
+            booking.setCheckOutDate(LocalDate.now().plusDays(2));
+            booking.setGuestFullName("Test Guest");
+            booking.setGuestEmail(user.getEmail());
+            booking.setNumOfAdults(1);
+            booking.setNumOfChildren(0);
+            booking.calculateTotalNumberOfGuests();
+            booking.setBookingConfirmationCode(UUID.randomUUID().toString());
+            booking.setRoom(room);
+            booking.setUser(user);
+            bookingRepository.save(booking);
+        }
+    }
+}
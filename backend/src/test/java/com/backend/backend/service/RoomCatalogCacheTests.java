@@ -0,0 +1,107 @@
+package com.backend.backend.service;
+
+import com.backend.backend.dto.RoomDto;
+import com.backend.backend.entity.Room;
+import com.backend.backend.repository.RoomRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RoomCatalogCacheTests {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        roomRepository.findAll().forEach(room -> roomService.deleteRoom(room.getId()));
+    }
+
+    @Test
+    void repeatedReadsDoNotQueryTheDatabase() throws IOException {
+        Room room = roomService.addRoom(null, "Suite", new BigDecimal("250.00"), "Vista al mar");
+
+        roomService.getRoomById(room.getId());
+        roomService.getAllRooms();
+        roomService.getAllRoomTypes();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        roomService.getRoomById(room.getId());
+        roomService.getAllRooms();
+        roomService.getAllRoomTypes();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void listsComputedAcrossAnInvalidationAreNotCached() {
+        RoomCatalogCache cache = new RoomCatalogCache(100, 600);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<String>> staleLoader = () -> {
+            loads.incrementAndGet();
+            // Un cambio que se confirma mientras se arma la lista
+            cache.roomChanged(1L, true);
+            return List.of("Suite");
+        };
+
+        assertThat(cache.list(RoomCatalogCache.ROOM_TYPES, staleLoader)).containsExactly("Suite");
+        assertThat(cache.list(RoomCatalogCache.ROOM_TYPES, () -> List.of("Deluxe"))).containsExactly("Deluxe");
+        assertThat(cache.list(RoomCatalogCache.ROOM_TYPES, staleLoader)).containsExactly("Deluxe");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void everyCatalogChangeMovesLastModifiedForward() {
+        RoomCatalogVersion version = new RoomCatalogVersion();
+        long before = version.lastModified();
+
+        version.bump();
+        long first = version.lastModified();
+        version.bump();
+
+        assertThat(first).isGreaterThan(before);
+        assertThat(version.lastModified()).isGreaterThan(first);
+    }
+
+    @Test
+    void updatesAndDeletesInvalidateTheCachedCatalog() throws IOException {
+        Room room = roomService.addRoom(null, "Suite", new BigDecimal("250.00"), "Vista al mar");
+        assertThat(roomService.getRoomById(room.getId()).getRoomPrice()).isEqualByComparingTo("250.00");
+        assertThat(roomService.getAllRoomTypes()).containsExactly("Suite");
+
+        roomService.updateRoom(room.getId(), "Deluxe", new BigDecimal("300.00"), null, null);
+
+        assertThat(roomService.getRoomById(room.getId()).getRoomPrice()).isEqualByComparingTo("300.00");
+        assertThat(roomService.getAllRooms()).extracting(RoomDto::getRoomType).containsExactly("Deluxe");
+        assertThat(roomService.getAllRoomTypes()).containsExactly("Deluxe");
+
+        roomService.deleteRoom(room.getId());
+
+        assertThat(roomService.getAllRooms()).isEmpty();
+        assertThat(roomService.getAllRoomTypes()).isEqualTo(List.of());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend.backend.service;
+
+import com.backend.backend.dto.RoomDto;
+import com.backend.backend.entity.Room;
+import com.backend.backend.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RoomTypeFilterTests {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @AfterEach
+    void cleanUp() {
+        roomRepository.findAll().forEach(room -> roomService.deleteRoom(room.getId()));
+    }
+
+    @Test
+    void roomTypeFilterMatchesExactlyAndReusesExistingTypes() throws IOException {
+        Room suite = roomService.addRoom(null, "Suite", new BigDecimal("250.00"), "Vista al mar");
+        Room deluxe = roomService.addRoom(null, "Suite Deluxe", new BigDecimal("400.00"), "Jacuzzi");
+        Room sameType = roomService.addRoom(null, " suite ", new BigDecimal("260.00"), "Vista al jardín");
+
+        assertThat(sameType.getRoomType()).isEqualTo("Suite");
+        assertThat(sameType.getType().getId()).isEqualTo(suite.getType().getId());
+        assertThat(roomService.getAllRoomTypes()).containsExactly("Suite", "Suite Deluxe");
+
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        assertThat(roomService.getAvailableRooms(checkIn, checkIn.plusDays(2), "Suite"))
+                .extracting(RoomDto::getId)
+                .containsExactlyInAnyOrder(suite.getId(), sameType.getId());
+        assertThat(roomService.getAvailableRooms(checkIn, checkIn.plusDays(2), "Deluxe")).isEmpty();
+        assertThat(roomService.getAvailableRooms(checkIn, checkIn.plusDays(2), "Suite Deluxe"))
+                .extracting(RoomDto::getId)
+                .containsExactly(deluxe.getId());
+    }
+}
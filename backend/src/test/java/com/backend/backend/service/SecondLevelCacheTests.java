@@ -0,0 +1,101 @@
+package com.backend.backend.service;
+
+import com.backend.backend.entity.Room;
+import com.backend.backend.entity.User;
+import com.backend.backend.repository.RoomRepository;
+import com.backend.backend.repository.RoomTypeRepository;
+import com.backend.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        roomRepository.findAll().forEach(room -> roomService.deleteRoom(room.getId()));
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void roomsAreReadFromTheCacheAndInvalidatedOnUpdateAndDelete() throws IOException {
+        Long roomId = roomService.addRoom(null, "Suite", new BigDecimal("250.00"), "Vista al mar").getId();
+        roomRepository.findById(roomId);
+
+        assertThat(statementsFor(() -> roomRepository.findById(roomId))).isZero();
+
+        roomService.updateRoom(roomId, null, new BigDecimal("300.00"), null, null);
+        assertThat(roomRepository.findById(roomId).orElseThrow().getRoomPrice()).isEqualByComparingTo("300.00");
+
+        roomService.deleteRoom(roomId);
+        assertThat(roomRepository.findById(roomId)).isEmpty();
+    }
+
+    @Test
+    void usersAreResolvedByEmailFromTheNaturalIdCache() {
+        User user = new User();
+        user.setEmail("guest@delrio.test");
+        user.setPassword("not-used");
+        user.setFirstName("Test");
+        user.setLastName("Guest");
+        userRepository.save(user);
+        userRepository.findByEmail("guest@delrio.test");
+
+        assertThat(statementsFor(() -> userRepository.findByEmail("guest@delrio.test"))).isZero();
+
+        User stored = userRepository.findByEmail("guest@delrio.test").orElseThrow();
+        stored.setRole("ROLE_ADMIN");
+        userRepository.save(stored);
+        assertThat(userRepository.findByEmail("guest@delrio.test").orElseThrow().getRole()).isEqualTo("ROLE_ADMIN");
+
+        userRepository.delete(stored);
+        assertThat(userRepository.findByEmail("guest@delrio.test")).isEmpty();
+    }
+
+    @Test
+    void roomTypeNamesComeFromTheQueryCacheUntilRoomsChange() throws IOException {
+        Room suite = roomService.addRoom(null, "Suite", new BigDecimal("250.00"), "Vista al mar");
+        roomTypeRepository.findNamesInUse();
+
+        assertThat(statementsFor(roomTypeRepository::findNamesInUse)).isZero();
+
+        roomService.addRoom(null, "Family", new BigDecimal("180.00"), "Dos ambientes");
+        assertThat(roomTypeRepository.findNamesInUse()).containsExactly("Family", "Suite");
+
+        roomService.deleteRoom(suite.getId());
+        assertThat(roomTypeRepository.findNamesInUse()).containsExactly("Family");
+    }
+
+    private long statementsFor(Supplier<?> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,102 @@
+package com.backend.backend.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomPhotoVariantsTests {
+
+    @TempDir
+    Path photosDir;
+
+    private RoomPhotoStorage storage;
+    private RoomPhotoVariants variants;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new RoomPhotoStorage();
+        ReflectionTestUtils.setField(storage, "photosDir", photosDir.toString());
+        storage.init();
+        variants = new RoomPhotoVariants(1, 10);
+        ReflectionTestUtils.setField(variants, "storage", storage);
+    }
+
+    @AfterEach
+    void tearDown() {
+        variants.shutdown();
+    }
+
+    @Test
+    void detectsThePhotoTypeFromItsBytes() throws Exception {
+        assertThat(storage.store(new ByteArrayInputStream(png(10, 10))).contentType()).isEqualTo("image/png");
+
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>"
+                .getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> storage.store(new ByteArrayInputStream(svg)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generatesSmallerVariantsKeepingTheAspectRatio() throws Exception {
+        String hash = storage.store(new ByteArrayInputStream(png(2000, 1000))).hash();
+
+        assertThat(variants.find(hash, RoomPhotoVariants.Size.THUMB)).isEmpty();
+        variants.generate(hash);
+
+        Path thumb = await(hash, RoomPhotoVariants.Size.THUMB);
+        Path medium = await(hash, RoomPhotoVariants.Size.MEDIUM);
+        BufferedImage thumbImage = ImageIO.read(thumb.toFile());
+        BufferedImage mediumImage = ImageIO.read(medium.toFile());
+
+        assertThat(thumbImage.getWidth()).isEqualTo(320);
+        assertThat(thumbImage.getHeight()).isEqualTo(160);
+        assertThat(mediumImage.getWidth()).isEqualTo(960);
+        assertThat(Files.size(thumb)).isLessThan(Files.size(storage.find(hash).orElseThrow()));
+        assertThat(variants.find(hash, RoomPhotoVariants.Size.FULL)).isEmpty();
+    }
+
+    private Path await(String hash, RoomPhotoVariants.Size size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        Optional<Path> path = variants.find(hash, size);
+        while (path.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            path = variants.find(hash, size);
+        }
+        return path.orElseThrow();
+    }
+
+    // Ruido en lugar de un color plano, para que el PNG original pese como una foto
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        Random random = new Random(7);
+        for (int y = 0; y < height; y += 10) {
+            for (int x = 0; x < width; x += 10) {
+                g.setColor(new Color(random.nextInt(0xFFFFFF)));
+                g.fillRect(x, y, 10, 10);
+            }
+        }
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
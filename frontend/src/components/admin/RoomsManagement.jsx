@@ -1,5 +1,5 @@
 import { useEffect, useState, useMemo } from 'react'
-import { getRooms, deleteRoom, addRoom, updateRoom } from '@/lib/api'
+import { getRooms, deleteRoom, addRoom, updateRoom, roomPhotoSrc } from '@/lib/api'
 import { Card } from '@/components/ui/card'
 import { Button } from '@/components/ui/button'
 import { Input } from '@/components/ui/input'
@@ -347,7 +347,7 @@ export function RoomsManagement() {
             <Card key={room.id} className="p-6 space-y-4">
               {room.roomPhotoUrl && (
                 <img
-                  src={`data:image/jpeg;base64,${room.roomPhotoUrl}`}
+                  src={roomPhotoSrc(room, "medium")}
                   alt={room.roomType}
                   className="w-full h-48 object-cover rounded-lg"
                 />
@@ -3,7 +3,7 @@ import React, { useEffect, useState } from 'react'
 import { Button } from '../ui/button'
 import { Link } from 'react-router-dom'
 import { Card, CardContent } from '../ui/card'
-import { api } from "@/lib/api"
+import { api, roomPhotoSrc } from "@/lib/api"
 
 export const FeaturedRooms = () => {
   const [rooms, setRooms] = useState([])
@@ -70,9 +70,8 @@ export const FeaturedRooms = () => {
                 <div className='relative h-64 overflow-hidden'>
                   <img
                     src={
-                      room.roomPhotoUrl
-                        ? `data:image/jpeg;base64,${room.roomPhotoUrl}`
-                        : '/images/rooms/room-standard.jpg'
+                      roomPhotoSrc(room, "medium")
+                        ?? '/images/rooms/room-standard.jpg'
                     }
                     alt={room.roomType}
                     className='w-full h-full object-cover group-hover:scale-105 transition-transform duration-500'
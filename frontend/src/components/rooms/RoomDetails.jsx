@@ -7,7 +7,7 @@ import { Card, CardContent, CardHeader } from '@/components/ui/card'
 
 import { Users, Bed, ArrowLeft, Wifi, Wind, Tv, Coffee, Bath, Mountain, Loader2, CheckCircle2 } from 'lucide-react'
 
-import { api } from '@/lib/api'
+import { api, roomPhotoSrc } from '@/lib/api'
 import { Room as RoomTemplate } from '@/lib/types'
 import { BookingForm } from './BookingForm'
 
@@ -114,9 +114,8 @@ export function RoomDetails({ roomId }) {
                     <div className="relative h-[400px] md:h-[500px] rounded-xl overflow-hidden">
                         <img
                             src={
-                                room.roomPhotoUrl
-                                    ? `data:image/jpeg;base64,${room.roomPhotoUrl}`
-                                    : '/images/rooms/room-standard.jpg'
+                                roomPhotoSrc(room)
+                                    ?? '/images/rooms/room-standard.jpg'
                             } alt={room.roomType}
                             className="w-full h-full object-cover"
                         />
@@ -10,7 +10,7 @@ import {
   SelectValue,
 } from '@/components/ui/select'
 import { Users, Bed, ArrowRight, Search, X, Loader2 } from 'lucide-react'
-import { api } from '@/lib/api'
+import { api, roomPhotoSrc } from '@/lib/api'
 
 const ROOMS_PER_PAGE = 10
 
@@ -150,9 +150,8 @@ export function RoomsList() {
                   <div className="relative h-64 lg:h-auto lg:w-72 shrink-0 overflow-hidden">
                     <img
                       src={
-                        room.roomPhotoUrl
-                          ? `data:image/jpeg;base64,${room.roomPhotoUrl}`
-                          : '/images/rooms/room-standard.jpg'
+                        roomPhotoSrc(room, "medium")
+                          ?? '/images/rooms/room-standard.jpg'
                       }
                       alt={room.roomType || 'Room'}
                       className="w-full h-full object-cover group-hover:scale-105 transition-transform duration-500"
@@ -2,6 +2,21 @@
 const API_BASE_URL =
   import.meta.env.VITE_API_URL || "https://crud-fullstack-gestion-hotel-delrio.onrender.com/api"
 
+// roomPhotoUrl llega como ruta del backend ("/api/rooms/{id}/photo?v=...")
+// size: "thumb" | "medium" | "full" (por defecto la foto original)
+export const roomPhotoSrc = (room, size) =>
+  room?.roomPhotoUrl
+    ? `${API_BASE_URL.replace(/\/api\/?$/, "")}${room.roomPhotoUrl}${size && size !== "full" ? `&size=${size}` : ""}`
+    : null
+
+// calendar.booked viene por tramos [noches desde calendar.from, cantidad]; fechas "YYYY-MM-DD"
+export const isRangeFree = (calendar, checkIn, checkOut) => {
+  const day = (date) => Date.parse(`${date}T00:00:00Z`) / 86400000
+  const start = day(checkIn) - day(calendar.from)
+  const end = day(checkOut) - day(calendar.from)
+  return !calendar.booked.some(([offset, nights]) => offset < end && offset + nights > start)
+}
+
 class ApiClient {
   getHeaders(includeAuth = false) {
     const headers = {
@@ -78,7 +93,7 @@ class ApiClient {
   // ================= ROOMS =================
 
   getAllRooms() {
-    return this.request("/rooms/all")
+    return this.request("/rooms/all?view=summary")
   }
 
   getRoomById(roomId) {
@@ -93,6 +108,15 @@ class ApiClient {
     return this.request("/rooms/available")
   }
 
+  searchRooms(query) {
+    return this.request(`/rooms/search?${new URLSearchParams({ q: query })}`)
+  }
+
+  getRoomCalendar(roomId, from, to) {
+    const params = new URLSearchParams({ from, to })
+    return this.request(`/rooms/${roomId}/calendar?${params}`)
+  }
+
   async addRoom(formData) {
     const response = await fetch(`${API_BASE_URL}/rooms/add`, {
       method: "POST",
@@ -186,6 +210,8 @@ export const getRooms = () => api.getAllRooms()
 export const getRoom = (id) => api.getRoomById(id)
 export const getRoomTypes = () => api.getRoomTypes()
 export const getAvailableRooms = () => api.getAvailableRooms()
+export const getRoomCalendar = (id, from, to) => api.getRoomCalendar(id, from, to)
+export const searchRooms = (query) => api.searchRooms(query)
 export const addRoom = (formData) => api.addRoom(formData)
 export const updateRoom = (id, formData) => api.updateRoom(id, formData)
 export const deleteRoom = (id) => api.deleteRoom(id)